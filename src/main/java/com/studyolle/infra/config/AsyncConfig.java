@@ -1,23 +1,57 @@
 package com.studyolle.infra.config;
 
+import com.studyolle.infra.mail.MailDigestProperties;
+import com.studyolle.infra.mail.MailOutboxProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * <h1>비동기 처리 설정 클래스</h1>
  *
- * 비동기 Executor의 스레드 설정 클래스
+ * 비동기 Executor의 스레드 설정 클래스<br>
+ * 작업 종류마다 Executor 를 나눠서 한 종류의 작업이 몰려도 다른 작업의 큐를 채우지 않도록 한다.
+ * 이벤트 리스너는 {@code @Async("notificationExecutor")} 처럼 사용할 Executor 를 지정하고, 지정하지 않은 작업은 기본 Executor 에서 실행한다.<br>
+ * Executor 마다 name 태그로 아래 지표를 남긴다.
+ *
+ * <pre>
+ * executor.queued, executor.active, executor.pool.size, executor.completed : 큐에 쌓인 작업 수, 실행 중인 스레드 수 등 (Micrometer ExecutorServiceMetrics)
+ * executor.rejected                                                       : 큐가 가득 차서 거절 정책으로 넘어간 작업 수
+ * </pre>
  */
 @Configuration
 @EnableAsync
 @Slf4j
 public class AsyncConfig implements AsyncConfigurer
 {
+    /**
+     * AsyncConfigurer 는 다른 빈보다 먼저 만들어지므로 MeterRegistry 는 Executor 를 만들 때 꺼낸다.
+     */
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public AsyncConfig(ObjectProvider<MeterRegistry> meterRegistry)
+    {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 실행할 Executor 를 지정하지 않은 @Async 작업(검색 색인, 추천 목록 갱신, 캐시 갱신 등)을 처리하는 Executor
+     * 큐가 차면 작업을 버리지 않고 호출한 스레드에서 실행한다.
+     * @return
+     */
     @Override
     public Executor getAsyncExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -29,14 +63,161 @@ public class AsyncConfig implements AsyncConfigurer
          * 현재 일하고 있는 Thread 개수(active thread)가 코어 개수(core pool size)보다 작으면 남아있는 Thread 를 사용한다.
          * 현재 일하고 있는 Thread 개수가 코어 개수만큼 차있으면 큐 용량(queue capacity)이 찰때까지 큐에 쌓아둔다.
          * 큐 용량이 다 차면, 코어 개수를 넘어서 맥스 개수(max pool size)에 다르기 전까지 새로운 Thread를 만들어 처리한다.
-         * 맥스 개수를 넘기면 테스크를 처리하지 못한다.
+         * 맥스 개수를 넘기면 거절 정책(rejected execution handler)에 따라 처리한다.
          */
         executor.setCorePoolSize(processorCnt);
         executor.setMaxPoolSize(processorCnt * 2);
         executor.setQueueCapacity(50);
         executor.setKeepAliveSeconds(60);
         executor.setThreadNamePrefix("AsyncExecutor-");
+        return monitor(executor, "async", new ThreadPoolExecutor.CallerRunsPolicy(), meterRegistry.getObject());
+    }
+
+    /**
+     * 스터디 개설/수정 알림을 수신자에게 나눠 저장하는 Executor
+     * 작업 하나가 수천 명에게 알림을 저장할 수 있으므로 다른 이벤트와 분리하고, 큐가 차면 이벤트를 발행한 스레드에서 실행해 발행 속도를 늦춘다.
+     * @param meterRegistry
+     * @return
+     */
+    @Bean
+    public ThreadPoolTaskExecutor notificationExecutor(MeterRegistry meterRegistry)
+    {
+        int processorCnt = Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(2, processorCnt / 2));
+        executor.setMaxPoolSize(processorCnt);
+        executor.setQueueCapacity(100);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("NotificationExecutor-");
+        return monitor(executor, "notification", new ThreadPoolExecutor.CallerRunsPolicy(), meterRegistry);
+    }
+
+    /**
+     * 모임 참가 신청/수락/거절 알림을 처리하는 Executor
+     * 작업이 작고 사용자가 바로 기다리는 알림이므로 스터디 알림이 몰려도 밀리지 않도록 따로 두고, 큐가 차면 호출한 스레드에서 실행한다.
+     * @param meterRegistry
+     * @return
+     */
+    @Bean
+    public ThreadPoolTaskExecutor enrollmentEventExecutor(MeterRegistry meterRegistry)
+    {
+        int processorCnt = Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(Math.max(2, processorCnt));
+        executor.setQueueCapacity(500);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("EnrollmentExecutor-");
+        return monitor(executor, "enrollment", new ThreadPoolExecutor.CallerRunsPolicy(), meterRegistry);
+    }
+
+    /**
+     * 메인 페이지 조회 쿼리를 동시에 실행하는 Executor
+     * 요청 스레드가 기다리는 작업이므로 이벤트 처리용 Executor 와 분리하고, 큐가 차면 작업을 거절해 해당 영역을 비워서 보여준다.
+     * @param meterRegistry
+     * @return
+     */
+    @Bean
+    public ThreadPoolTaskExecutor homePageExecutor(MeterRegistry meterRegistry)
+    {
+        int processorCnt = Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processorCnt * 2);
+        executor.setMaxPoolSize(processorCnt * 2);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("HomePageExecutor-");
+        return monitor(executor, "home-page", new ThreadPoolExecutor.AbortPolicy(), meterRegistry);
+    }
+
+    /**
+     * 실시간 알림(SSE) 전송과 heartbeat 을 처리하는 스케줄러
+     * 연결마다 스레드를 두지 않고, 보낼 메시지가 있는 연결만 이 스레드들이 돌아가며 전송한다.
+     * @return
+     */
+    @Bean
+    public ThreadPoolTaskScheduler notificationStreamScheduler()
+    {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+        scheduler.setThreadNamePrefix("NotificationStream-");
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    /**
+     * 스터디 수정 이벤트를 모아두었다가 발행하는 스케줄러
+     * 발행만 하고 알림 처리는 이벤트 처리용 Executor 에서 하므로 스레드 하나로 충분하다.
+     * @return
+     */
+    @Bean
+    public ThreadPoolTaskScheduler studyUpdateScheduler()
+    {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("StudyUpdate-");
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    /**
+     * 발송 대기 메일을 발송하는 Executor
+     * SMTP 응답을 기다리는 작업이므로 이벤트 처리용 Executor 와 분리하고, 동시에 발송하는 수를 설정값으로 제한한다.
+     * 이벤트 리스너는 메일을 발송 대기열에 저장만 하므로 메일 발송은 모두 이 Executor 에서 한다.
+     * @param properties
+     * @param meterRegistry
+     * @return
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mailDispatchExecutor(MailOutboxProperties properties, MeterRegistry meterRegistry)
+    {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getConcurrency());
+        executor.setMaxPoolSize(properties.getConcurrency());
+        executor.setQueueCapacity(properties.getBatchSize());
+        executor.setThreadNamePrefix("MailDispatch-");
+        return monitor(executor, "mail-dispatch", new ThreadPoolExecutor.CallerRunsPolicy(), meterRegistry);
+    }
+
+    /**
+     * 모아보기 메일을 사용자 묶음별로 만드는 Executor
+     * 주기마다 한 번 실행되는 작업이므로 작업 중이 아닐 때는 스레드를 유지하지 않는다.
+     * @param properties
+     * @param meterRegistry
+     * @return
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mailDigestExecutor(MailDigestProperties properties, MeterRegistry meterRegistry)
+    {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getParallelism());
+        executor.setMaxPoolSize(properties.getParallelism());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("MailDigest-");
+        return monitor(executor, "mail-digest", new ThreadPoolExecutor.CallerRunsPolicy(), meterRegistry);
+    }
+
+    /**
+     * 거절 정책을 설정하고 Executor 를 초기화한 뒤 name 태그로 큐 길이, 실행 중인 스레드 수, 거절된 작업 수 지표를 등록한다.
+     * @param executor
+     * @param name 지표의 name 태그
+     * @param rejectedExecutionHandler 큐가 가득 찼을 때 처리 방법
+     * @param meterRegistry
+     * @return
+     */
+    private static ThreadPoolTaskExecutor monitor(ThreadPoolTaskExecutor executor, String name,
+                                                  RejectedExecutionHandler rejectedExecutionHandler, MeterRegistry meterRegistry)
+    {
+        Counter rejected = Counter.builder("executor.rejected").tag("name", name).register(meterRegistry);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            rejectedExecutionHandler.rejectedExecution(task, pool);
+        });
         executor.initialize();
+
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), name, Tags.empty()).bindTo(meterRegistry);
         return executor;
     }
 }
@@ -0,0 +1,46 @@
+package com.studyolle.infra.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * <h1>스케줄 작업 설정 클래스</h1>
+ *
+ * AsyncConfig 에 다른 용도의 스케줄러가 있어 Spring Boot 가 기본 스케줄러를 만들지 않으므로, @Scheduled 작업용 스케줄러를 직접 등록한다.<br>
+ * 스레드가 하나뿐이면 오래 걸리는 정리 작업이나 모아보기 메일 작업이 도는 동안 메일 발송(회원 가입/로그인 메일 포함)이 멈추므로,
+ * 스케줄 작업 수보다 많은 스레드를 둔다.
+ *
+ * @see com.studyolle.modules.notification.NotificationRetentionJob
+ * @see com.studyolle.infra.mail.MailOutboxDispatcher
+ * @see com.studyolle.infra.mail.MailDigestJob
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer
+{
+    static final int POOL_SIZE = 8;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar)
+    {
+        registrar.setTaskScheduler(taskScheduler());
+    }
+
+    /**
+     * @Scheduled 작업용 스케줄러
+     * @return
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler()
+    {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(POOL_SIZE);
+        scheduler.setThreadNamePrefix("Scheduling-");
+        scheduler.initialize();
+        return scheduler;
+    }
+}
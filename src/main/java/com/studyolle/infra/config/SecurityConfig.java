@@ -29,7 +29,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter
     {
         http.authorizeRequests()
                 .mvcMatchers("/", "/login", "/sign-up", "/check-email", "/check-email-token",
-                            "/email-login", "/check-email-login", "/login-by-email", "/search/study").permitAll()
+                            "/email-login", "/check-email-login", "/login-by-email", "/search/study", "/search/study/autocomplete").permitAll()
                 .mvcMatchers(HttpMethod.GET, "/profile/*").permitAll()
                 .anyRequest().authenticated();
 
@@ -1,16 +1,24 @@
 package com.studyolle.infra.mail;
 
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * <h1>메일 메시지 객체</h1>
+ *
+ * 발송 실패는 {@link org.springframework.mail.MailSendException#getFailedMessages()} 에 메일 객체를 키로 담아 돌려주므로,
+ * 내용이 같은 메일도 서로 다른 메일로 구분되도록 equals/hashCode 는 재정의하지 않는다.
  */
-@Data
+@Getter @Setter @ToString
 @Builder
 public class EmailMessage
 {
     private String to;
     private String subject;
     private String message;
+
+    @Builder.Default
+    private MailPriority priority = MailPriority.NORMAL;
 }
@@ -1,5 +1,11 @@
 package com.studyolle.infra.mail;
 
+import org.springframework.mail.MailSendException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * <h1>이메일 발송 인터페이스</h1>
  *
@@ -13,4 +19,30 @@ public interface EmailService
      * @param emailMessage 발송할 메일 메시지 객체
      */
     void sendEmail(EmailMessage emailMessage);
+
+    /**
+     * 여러 메일을 발송한다. 기본 구현은 한 건씩 {@link #sendEmail(EmailMessage)} 을 호출한다.
+     * @param emailMessages 발송할 메일 메시지 객체
+     * @throws org.springframework.mail.MailSendException 일부 메일이 실패한 경우, getFailedMessages() 에 실패한 메일 메시지 객체가 담긴다.
+     */
+    default void sendEmails(Collection<EmailMessage> emailMessages)
+    {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        for (EmailMessage emailMessage : emailMessages)
+        {
+            try
+            {
+                sendEmail(emailMessage);
+            }
+            catch (RuntimeException e)
+            {
+                failedMessages.put(emailMessage, e);
+            }
+        }
+
+        if (!failedMessages.isEmpty())
+        {
+            throw new MailSendException(failedMessages);
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package com.studyolle.infra.mail;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * <h1>메일 모아보기 서비스 클래스</h1>
+ *
+ * 모아보기를 선택한 사용자에게 보낼 소식을 바로 발송하지 않고 항목으로 저장한다.
+ * 스터디 개설처럼 수신자가 많은 경우를 위해 JDBC batch insert 로 한 번에 저장한다.
+ *
+ * @see MailDigestJob
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class MailDigest
+{
+    private static final String INSERT = "insert into mail_digest_entry (period, account_id, email, nickname, title, link, message, created_date_time) "
+                                        + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 모아보기 항목 저장 메서드
+     * @param entries
+     */
+    public void addAll(Collection<MailDigestEntry> entries)
+    {
+        if (entries.isEmpty())
+        {
+            return;
+        }
+
+        List<Object[]> args = entries.stream()
+                                        .map(entry -> new Object[] {
+                                                entry.getPeriod().name(),
+                                                entry.getAccountId(),
+                                                entry.getEmail(),
+                                                entry.getNickname(),
+                                                entry.getTitle(),
+                                                entry.getLink(),
+                                                entry.getMessage(),
+                                                Timestamp.valueOf(entry.getCreatedDateTime() != null ? entry.getCreatedDateTime() : LocalDateTime.now())
+                                        })
+                                        .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(INSERT, args);
+    }
+}
@@ -0,0 +1,41 @@
+package com.studyolle.infra.mail;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * <h1>모아보기 메일 항목 엔티티</h1>
+ *
+ * 모아보기를 선택한 사용자에게 보낼 소식 한 건이다. {@link MailDigestJob} 이 주기마다 사용자별로 모아 메일 한 통으로 보내고 삭제한다.<br>
+ * 계정 모듈에 의존하지 않도록 수신자 정보는 항목을 저장할 때의 값을 함께 저장한다.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_mail_digest_entry_period_account", columnList = "period, account_id"))
+@Getter
+@EqualsAndHashCode(of = "id")
+@Builder @AllArgsConstructor @NoArgsConstructor
+public class MailDigestEntry
+{
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private MailDigestPeriod period;
+
+    @Column(name = "account_id")
+    private Long accountId;
+
+    private String email;
+
+    private String nickname;
+
+    private String title;
+
+    private String link;
+
+    private String message;
+
+    private LocalDateTime createdDateTime;
+}
@@ -0,0 +1,133 @@
+package com.studyolle.infra.mail;
+
+import com.studyolle.infra.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * <h1>메일 모아보기 작업 클래스</h1>
+ *
+ * 매시 정각에 1시간 모아보기, 매일 아침 8시에 하루 모아보기 항목을 사용자별로 모아 메일 한 통으로 만들어 {@link MailOutbox} 에 저장한다.<br>
+ * 사용자를 {@link MailDigestProperties#getChunkSize()} 명씩 나눠 {@link MailDigestProperties#getParallelism()} 개의 스레드에서 동시에 처리하고,
+ * 묶음마다 메일 저장과 항목 삭제를 한 트랜잭션으로 처리하므로 중간에 실패해도 항목이 사라지거나 두 번 발송되지 않는다.
+ * 작업을 시작할 때의 마지막 항목까지만 처리하고, 처리 중에 쌓인 항목은 다음 주기에 보낸다.
+ */
+@Component
+@Slf4j
+public class MailDigestJob
+{
+    static final String TEMPLATE = "mail/digest";
+
+    private final MailDigestRepository mailDigestRepository;
+    private final MailOutbox mailOutbox;
+    private final TemplateEngine templateEngine;
+    private final AppProperties appProperties;
+    private final MailDigestProperties properties;
+    private final Executor mailDigestExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    public MailDigestJob(MailDigestRepository mailDigestRepository,
+                         MailOutbox mailOutbox,
+                         TemplateEngine templateEngine,
+                         AppProperties appProperties,
+                         MailDigestProperties properties,
+                         @Qualifier("mailDigestExecutor") Executor mailDigestExecutor,
+                         PlatformTransactionManager transactionManager)
+    {
+        this.mailDigestRepository = mailDigestRepository;
+        this.mailOutbox = mailOutbox;
+        this.templateEngine = templateEngine;
+        this.appProperties = appProperties;
+        this.properties = properties;
+        this.mailDigestExecutor = mailDigestExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.mail.digest.hourly-cron:0 0 * * * *}")
+    public void sendHourly()
+    {
+        send(MailDigestPeriod.HOURLY);
+    }
+
+    @Scheduled(cron = "${app.mail.digest.daily-cron:0 0 8 * * *}")
+    public void sendDaily()
+    {
+        send(MailDigestPeriod.DAILY);
+    }
+
+    /**
+     * 주기별 모아보기 메일 생성 메서드
+     * @param period
+     */
+    public void send(MailDigestPeriod period)
+    {
+        Long maxId = mailDigestRepository.findMaxId(period);
+        if (maxId == null)
+        {
+            return;
+        }
+
+        List<Long> accountIds = mailDigestRepository.findAccountIds(period, maxId);
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < accountIds.size(); from += properties.getChunkSize())
+        {
+            List<Long> chunk = accountIds.subList(from, Math.min(from + properties.getChunkSize(), accountIds.size()));
+            chunks.add(CompletableFuture.runAsync(() -> sendChunk(period, chunk, maxId), mailDigestExecutor));
+        }
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+
+        log.info("{} digest mails ({}) enqueued", accountIds.size(), period);
+    }
+
+    private void sendChunk(MailDigestPeriod period, List<Long> accountIds, Long maxId)
+    {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<MailDigestEntry> entries = mailDigestRepository.findForDigest(period.name(), accountIds, maxId);
+            if (entries.isEmpty())
+            {
+                return;
+            }
+
+            Map<Long, List<MailDigestEntry>> byAccount = entries.stream()
+                                                                .collect(Collectors.groupingBy(MailDigestEntry::getAccountId, LinkedHashMap::new, Collectors.toList()));
+            byAccount.values().forEach(accountEntries -> mailOutbox.enqueue(digest(accountEntries)));
+
+            mailDigestRepository.deleteByIds(entries.stream().map(MailDigestEntry::getId).collect(Collectors.toList()));
+        });
+    }
+
+    /**
+     * 사용자 한 명의 모아보기 메일. 수신자 정보는 가장 최근 항목의 값을 사용한다.
+     * @param entries 한 사용자의 항목 (아이디 순)
+     * @return
+     */
+    private EmailMessage digest(List<MailDigestEntry> entries)
+    {
+        MailDigestEntry latest = entries.get(entries.size() - 1);
+
+        Context context = new Context();
+        context.setVariable("nickname", latest.getNickname());
+        context.setVariable("entries", entries);
+        context.setVariable("host", appProperties.getHost());
+
+        return EmailMessage.builder()
+                                .subject("[스터디올래] 스터디 소식 " + entries.size() + "건")
+                                .to(latest.getEmail())
+                                .message(templateEngine.process(TEMPLATE, context))
+                            .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.studyolle.infra.mail;
+
+/**
+ * <h1>메일 모아보기 주기</h1>
+ */
+public enum MailDigestPeriod
+{
+    /**
+     * 모으지 않고 바로 보낸다.
+     */
+    NONE("바로 받기"),
+
+    HOURLY("1시간마다 모아서 받기"),
+
+    DAILY("하루에 한 번 모아서 받기");
+
+    private final String description;
+
+    MailDigestPeriod(String description)
+    {
+        this.description = description;
+    }
+
+    public String getDescription()
+    {
+        return description;
+    }
+
+    /**
+     * 모아서 보내는 주기이면 true. 설정하지 않은(null) 사용자는 바로 보낸다.
+     * @param period
+     * @return
+     */
+    public static boolean isDigest(MailDigestPeriod period)
+    {
+        return period != null && period != NONE;
+    }
+}
@@ -0,0 +1,26 @@
+package com.studyolle.infra.mail;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * <h1>메일 모아보기 설정 클래스</h1>
+ *
+ * app.mail.digest.* 로 모아보기 메일을 만드는 동시성과 한 번에 처리하는 사용자 수를 설정한다.
+ */
+@Data
+@Component
+@ConfigurationProperties("app.mail.digest")
+public class MailDigestProperties
+{
+    /**
+     * 동시에 처리하는 사용자 묶음 수
+     */
+    private int parallelism = 4;
+
+    /**
+     * 한 트랜잭션에서 처리하는 사용자 수
+     */
+    private int chunkSize = 100;
+}
@@ -0,0 +1,36 @@
+package com.studyolle.infra.mail;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <h1>모아보기 메일 항목 리포지토리</h1>
+ */
+@Transactional(readOnly = true)
+public interface MailDigestRepository extends JpaRepository<MailDigestEntry, Long>
+{
+    @Query("select max(e.id) from MailDigestEntry e where e.period = :period")
+    Long findMaxId(@Param("period") MailDigestPeriod period);
+
+    @Query("select distinct e.accountId from MailDigestEntry e where e.period = :period and e.id <= :maxId")
+    List<Long> findAccountIds(@Param("period") MailDigestPeriod period, @Param("maxId") Long maxId);
+
+    /**
+     * 사용자들의 항목을 잠그고 조회한다. 다른 인스턴스가 처리 중인 항목은 건너뛴다.
+     */
+    @Query(value = "select * from mail_digest_entry where period = :period and account_id in (:accountIds) and id <= :maxId "
+                    + "order by id for update skip locked", nativeQuery = true)
+    List<MailDigestEntry> findForDigest(@Param("period") String period, @Param("accountIds") Collection<Long> accountIds,
+                                        @Param("maxId") Long maxId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from MailDigestEntry e where e.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,75 @@
+package com.studyolle.infra.mail;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <h1>메일 발송 대기열 서비스 클래스</h1>
+ *
+ * 메일을 바로 발송하지 않고 호출한 트랜잭션 안에서 발송 대기 테이블에 저장한다.<br>
+ * 업무 처리가 롤백되면 메일도 발송되지 않고, SMTP 응답을 기다리는 동안 DB 트랜잭션이나 요청 스레드를 붙잡지 않는다.<br>
+ * 수신자가 많은 메일은 {@link #enqueueAll(Collection)} 으로 엔티티를 만들지 않고 JDBC batch insert 로 저장하므로 영속성 컨텍스트에 쌓이지 않는다.
+ *
+ * @see MailOutboxDispatcher
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class MailOutbox
+{
+    private static final String NEXT_IDS = "select nextval('hibernate_sequence') from generate_series(1, ?)";
+
+    private static final String INSERT = "insert into mail_outbox_message (id, recipient, subject, message, status, priority, attempts, "
+                                        + "next_attempt_date_time, created_date_time) values (?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 메일 발송 예약 메서드
+     * @param emailMessage 발송할 메일 메시지 객체
+     */
+    public void enqueue(EmailMessage emailMessage)
+    {
+        mailOutboxRepository.save(MailOutboxMessage.of(emailMessage));
+    }
+
+    /**
+     * 메일 일괄 발송 예약 메서드
+     * @param emailMessages 발송할 메일 메시지 객체
+     */
+    public void enqueueAll(Collection<EmailMessage> emailMessages)
+    {
+        if (emailMessages.isEmpty())
+        {
+            return;
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS, Long.class, emailMessages.size());
+        List<Object[]> args = new ArrayList<>(emailMessages.size());
+        int i = 0;
+        for (EmailMessage emailMessage : emailMessages)
+        {
+            MailOutboxMessage message = MailOutboxMessage.of(emailMessage);
+            Timestamp createdDateTime = Timestamp.valueOf(message.getCreatedDateTime());
+            args.add(new Object[] {
+                    ids.get(i++),
+                    message.getRecipient(),
+                    message.getSubject(),
+                    message.getMessage(),
+                    message.getStatus().name(),
+                    message.getPriority().ordinal(),
+                    createdDateTime,
+                    createdDateTime
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT, args);
+    }
+}
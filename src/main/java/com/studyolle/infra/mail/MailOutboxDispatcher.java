@@ -0,0 +1,248 @@
+package com.studyolle.infra.mail;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * <h1>메일 발송 작업 클래스</h1>
+ *
+ * {@link MailOutbox} 에 저장된 메일을 주기적으로 {@link MailOutboxProperties#getBatchSize()} 건씩 가져와
+ * 메일 발송 전용 Executor 에서 {@link MailOutboxProperties#getConcurrency()} 개의 묶음으로 나눠 {@link EmailService#sendEmails} 로 동시에 발송한다.<br>
+ * 가져올 때 FOR UPDATE SKIP LOCKED 로 잠그고 다음 시도 시각을 미뤄두므로 여러 인스턴스가 같은 메일을 중복 발송하지 않고,
+ * 발송 도중 종료되어도 {@link MailOutboxProperties#getLease()} 뒤에 다시 발송한다.
+ * 실패한 메일은 지수적으로 늘어나는 간격으로 재시도하고, {@link MailOutboxProperties#getMaxAttempts()} 번 실패하면 FAILED 로 남긴다.<br>
+ * 메일은 우선순위 순으로 가져오고, {@link MailRateLimiter} 가 허용하지 않는 메일은 실패로 처리하지 않고 보낼 수 있는 시각으로 미룬다.<br>
+ * 실제 발송은 실행환경별 {@link EmailService} 구현체가 한다.
+ *
+ * <pre>
+ * mail.outbox.depth           : 발송 대기 중인 메일 수
+ * mail.outbox.send            : 메일 한 건 발송 시간 (result 태그)
+ * mail.outbox.time-to-deliver : 발송 대기열에 저장된 뒤 발송될 때까지 걸린 시간
+ * </pre>
+ */
+@Component
+@Slf4j
+public class MailOutboxDispatcher
+{
+    private final MailOutboxRepository mailOutboxRepository;
+    private final EmailService emailService;
+    private final Executor mailDispatchExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final MailOutboxProperties properties;
+    private final MailRateLimiter mailRateLimiter;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final Timer sent;
+    private final Timer failed;
+    private final Timer timeToDeliver;
+
+    public MailOutboxDispatcher(MailOutboxRepository mailOutboxRepository,
+                                EmailService emailService,
+                                @Qualifier("mailDispatchExecutor") Executor mailDispatchExecutor,
+                                PlatformTransactionManager transactionManager,
+                                MailOutboxProperties properties,
+                                MailRateLimiter mailRateLimiter,
+                                MeterRegistry meterRegistry)
+    {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.emailService = emailService;
+        this.mailDispatchExecutor = mailDispatchExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.mailRateLimiter = mailRateLimiter;
+
+        meterRegistry.gauge("mail.outbox.depth", depth);
+        this.sent = Timer.builder("mail.outbox.send").tag("result", "sent").register(meterRegistry);
+        this.failed = Timer.builder("mail.outbox.send").tag("result", "failed").register(meterRegistry);
+        this.timeToDeliver = Timer.builder("mail.outbox.time-to-deliver").register(meterRegistry);
+    }
+
+    /**
+     * 발송할 차례인 메일을 가져와 모두 발송할 때까지 기다린다.
+     * 다음 실행은 이전 실행이 끝난 뒤에 시작하므로 한 인스턴스에서 발송 중인 메일은 batchSize 를 넘지 않는다.
+     * 실행 간격은 {@link MailOutboxProperties#getPollInterval()} 의 Duration 값(예: 1s, 500ms)을 그대로 사용한다.
+     */
+    @Scheduled(fixedDelayString = "#{@mailOutboxProperties.pollInterval.toMillis()}")
+    public void dispatch()
+    {
+        if (!properties.isEnabled())
+        {
+            return;
+        }
+
+        List<MailOutboxMessage> messages = throttle(claim());
+        depth.set(mailOutboxRepository.countByStatus(MailOutboxMessage.Status.PENDING));
+        if (messages.isEmpty())
+        {
+            return;
+        }
+
+        // 작업자마다 메일 묶음 하나를 맡아서 SMTP 연결 하나로 이어서 보낸다.
+        int workers = Math.min(properties.getConcurrency(), messages.size());
+        List<List<MailOutboxMessage>> groups = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++)
+        {
+            groups.add(new ArrayList<>());
+        }
+        for (int i = 0; i < messages.size(); i++)
+        {
+            groups.get(i % workers).add(messages.get(i));
+        }
+
+        CompletableFuture<?>[] sending = groups.stream()
+                                                .map(group -> CompletableFuture.runAsync(() -> send(group), mailDispatchExecutor))
+                                                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(sending).join();
+    }
+
+    /**
+     * 발송된 지 오래된 메일 정리 메서드
+     */
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 0 5 * * *}")
+    public void purgeSent()
+    {
+        int deleted = mailOutboxRepository.deleteSentBefore(MailOutboxMessage.Status.SENT,
+                                                            LocalDateTime.now().minus(properties.getSentRetention()));
+        log.info("{} sent mails purged from outbox", deleted);
+    }
+
+    /**
+     * 발송량 제한을 넘는 메일은 보낼 수 있는 시각으로 미루고, 지금 보낼 메일만 돌려준다.
+     * @param messages
+     * @return
+     */
+    private List<MailOutboxMessage> throttle(List<MailOutboxMessage> messages)
+    {
+        List<MailOutboxMessage> allowed = new ArrayList<>(messages.size());
+        Map<Long, LocalDateTime> deferred = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (MailOutboxMessage message : messages)
+        {
+            Duration wait = mailRateLimiter.acquire(message.getRecipient(), message.getPriority());
+            if (wait.isZero())
+            {
+                allowed.add(message);
+            }
+            else
+            {
+                deferred.put(message.getId(), now.plus(wait));
+            }
+        }
+
+        if (!deferred.isEmpty())
+        {
+            log.debug("{} mails deferred by rate limit", deferred.size());
+            transactionTemplate.executeWithoutResult(status -> mailOutboxRepository.findAllById(deferred.keySet())
+                                                                    .forEach(message -> message.defer(deferred.get(message.getId()))));
+        }
+        return allowed;
+    }
+
+    private List<MailOutboxMessage> claim()
+    {
+        List<MailOutboxMessage> messages = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<MailOutboxMessage> claimed = mailOutboxRepository.findForDispatch(now, properties.getBatchSize());
+            claimed.forEach(message -> message.lease(now.plus(properties.getLease())));
+            return claimed;
+        });
+        return messages == null ? Collections.emptyList() : messages;
+    }
+
+    private void send(List<MailOutboxMessage> group)
+    {
+        Map<EmailMessage, MailOutboxMessage> byEmail = new IdentityHashMap<>();
+        group.forEach(message -> byEmail.put(message.toEmailMessage(), message));
+
+        Map<Object, Exception> failedMessages;
+        long start = System.nanoTime();
+        try
+        {
+            emailService.sendEmails(byEmail.keySet());
+            failedMessages = Collections.emptyMap();
+        }
+        catch (MailSendException e)
+        {
+            failedMessages = e.getFailedMessages().isEmpty() ? allFailed(byEmail.keySet(), e) : e.getFailedMessages();
+        }
+        catch (RuntimeException e)
+        {
+            failedMessages = allFailed(byEmail.keySet(), e);
+        }
+        // 묶음 발송 시간을 메일 수로 나눠 한 건당 시간으로 기록한다.
+        Duration perMessage = Duration.ofNanos((System.nanoTime() - start) / group.size());
+
+        for (Map.Entry<EmailMessage, MailOutboxMessage> entry : byEmail.entrySet())
+        {
+            MailOutboxMessage message = entry.getValue();
+            Exception failure = failedMessages.get(entry.getKey());
+            if (failure == null)
+            {
+                sent.record(perMessage);
+                timeToDeliver.record(Duration.between(message.getCreatedDateTime(), LocalDateTime.now()));
+                update(message.getId(), MailOutboxMessage::sent);
+            }
+            else
+            {
+                failed.record(perMessage);
+                LocalDateTime nextAttempt = nextAttempt(message.getAttempts() + 1);
+                log.warn("mail {} to {} has failed (attempt {}), next attempt : {}",
+                            message.getId(), message.getRecipient(), message.getAttempts() + 1, nextAttempt, failure);
+                update(message.getId(), outboxMessage -> outboxMessage.failed(failure.getMessage(), nextAttempt));
+            }
+        }
+    }
+
+    private static Map<Object, Exception> allFailed(Collection<EmailMessage> emailMessages, Exception failure)
+    {
+        Map<Object, Exception> failedMessages = new IdentityHashMap<>();
+        emailMessages.forEach(emailMessage -> failedMessages.put(emailMessage, failure));
+        return failedMessages;
+    }
+
+    /**
+     * 다음 재시도 시각. 최대 시도 횟수를 넘으면 null 이다.
+     * @param attempts 지금까지 시도한 횟수
+     * @return
+     */
+    private LocalDateTime nextAttempt(int attempts)
+    {
+        if (attempts >= properties.getMaxAttempts())
+        {
+            return null;
+        }
+
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(properties.getMaxBackoff()) > 0)
+        {
+            backoff = properties.getMaxBackoff();
+        }
+        return LocalDateTime.now().plus(backoff);
+    }
+
+    private void update(Long id, Consumer<MailOutboxMessage> change)
+    {
+        transactionTemplate.executeWithoutResult(status -> mailOutboxRepository.findById(id).ifPresent(change));
+    }
+}
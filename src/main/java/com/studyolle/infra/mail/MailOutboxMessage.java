@@ -0,0 +1,124 @@
+package com.studyolle.infra.mail;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * <h1>발송 대기 메일 엔티티</h1>
+ *
+ * 업무 처리와 같은 트랜잭션에서 저장되고, {@link MailOutboxDispatcher} 가 커밋된 메일만 읽어서 발송한다.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_mail_outbox_status_next_attempt", columnList = "status, next_attempt_date_time, priority"))
+@Getter
+@EqualsAndHashCode(of = "id")
+@NoArgsConstructor
+public class MailOutboxMessage
+{
+    @Id @GeneratedValue
+    private Long id;
+
+    private String recipient;
+
+    private String subject;
+
+    @Column(columnDefinition = "text")
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    /**
+     * 발송 순서. 선언 순서(ordinal)로 저장해서 작은 값부터 발송한다.
+     */
+    @Enumerated(EnumType.ORDINAL)
+    private MailPriority priority;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptDateTime;
+
+    private LocalDateTime createdDateTime;
+
+    private LocalDateTime sentDateTime;
+
+    private String lastError;
+
+    public static MailOutboxMessage of(EmailMessage emailMessage)
+    {
+        MailOutboxMessage outboxMessage = new MailOutboxMessage();
+        outboxMessage.recipient = emailMessage.getTo();
+        outboxMessage.subject = emailMessage.getSubject();
+        outboxMessage.message = emailMessage.getMessage();
+        outboxMessage.priority = emailMessage.getPriority() != null ? emailMessage.getPriority() : MailPriority.NORMAL;
+        outboxMessage.status = Status.PENDING;
+        outboxMessage.createdDateTime = LocalDateTime.now();
+        outboxMessage.nextAttemptDateTime = outboxMessage.createdDateTime;
+        return outboxMessage;
+    }
+
+    public EmailMessage toEmailMessage()
+    {
+        return EmailMessage.builder()
+                                .to(recipient)
+                                .subject(subject)
+                                .message(message)
+                                .priority(priority)
+                            .build();
+    }
+
+    /**
+     * 발송 중인 메일이 다른 작업자에게 다시 선택되지 않도록 다음 시도 시각을 미룬다.
+     * 발송 도중 서버가 종료되면 이 시각 이후에 다시 발송한다.
+     * @param until
+     */
+    public void lease(LocalDateTime until)
+    {
+        this.nextAttemptDateTime = until;
+    }
+
+    /**
+     * 발송량 제한으로 미뤄진 메일. 실패가 아니므로 시도 횟수는 늘리지 않는다.
+     * @param nextAttemptDateTime
+     */
+    public void defer(LocalDateTime nextAttemptDateTime)
+    {
+        this.nextAttemptDateTime = nextAttemptDateTime;
+    }
+
+    public void sent()
+    {
+        this.status = Status.SENT;
+        this.attempts++;
+        this.sentDateTime = LocalDateTime.now();
+        this.lastError = null;
+    }
+
+    /**
+     * 발송 실패 처리 메서드
+     * @param error
+     * @param nextAttemptDateTime 다시 시도할 시각, null 이면 더 이상 시도하지 않는다.
+     */
+    public void failed(String error, LocalDateTime nextAttemptDateTime)
+    {
+        this.attempts++;
+        this.lastError = error == null || error.length() <= 255 ? error : error.substring(0, 255);
+        if (nextAttemptDateTime == null)
+        {
+            this.status = Status.FAILED;
+        }
+        else
+        {
+            this.nextAttemptDateTime = nextAttemptDateTime;
+        }
+    }
+
+    public enum Status
+    {
+        PENDING, SENT, FAILED
+    }
+}
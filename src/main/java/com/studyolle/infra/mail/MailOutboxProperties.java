@@ -0,0 +1,54 @@
+package com.studyolle.infra.mail;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * <h1>메일 발송 대기열 설정 클래스</h1>
+ *
+ * app.mail.outbox.* 로 발송 동시성, 한 번에 가져오는 메일 수, 재시도 간격을 설정한다.
+ */
+@Data
+@Component
+@ConfigurationProperties("app.mail.outbox")
+public class MailOutboxProperties
+{
+    private boolean enabled = true;
+
+    /**
+     * 발송할 메일을 확인하는 간격 ({@link MailOutboxDispatcher#dispatch()} 의 fixedDelay)
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * 동시에 발송하는 메일 수
+     */
+    private int concurrency = 4;
+
+    /**
+     * 한 번에 가져오는 메일 수
+     */
+    private int batchSize = 50;
+
+    private int maxAttempts = 5;
+
+    /**
+     * 첫 재시도 간격. 실패할 때마다 두 배씩 늘어난다.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(30);
+
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    /**
+     * 발송 중인 메일을 다른 작업자가 가져가지 않도록 미루는 시간
+     */
+    private Duration lease = Duration.ofMinutes(5);
+
+    /**
+     * 발송된 메일을 보관하는 기간
+     */
+    private Duration sentRetention = Duration.ofDays(7);
+}
@@ -0,0 +1,34 @@
+package com.studyolle.infra.mail;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * <h1>발송 대기 메일 리포지토리</h1>
+ */
+@Transactional(readOnly = true)
+public interface MailOutboxRepository extends JpaRepository<MailOutboxMessage, Long>
+{
+    /**
+     * 발송할 차례인 메일을 우선순위 순으로 잠그고 조회한다. 다른 작업자가 잠근 행은 건너뛴다.
+     * @param now
+     * @param limit
+     * @return
+     */
+    @Query(value = "select * from mail_outbox_message where status = 'PENDING' and next_attempt_date_time <= :now "
+                    + "order by priority, id limit :limit for update skip locked", nativeQuery = true)
+    List<MailOutboxMessage> findForDispatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    long countByStatus(MailOutboxMessage.Status status);
+
+    @Transactional
+    @Modifying
+    @Query("delete from MailOutboxMessage m where m.status = :status and m.sentDateTime < :before")
+    int deleteSentBefore(@Param("status") MailOutboxMessage.Status status, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,19 @@
+package com.studyolle.infra.mail;
+
+/**
+ * <h1>메일 우선순위</h1>
+ *
+ * 발송 대기열에서 먼저 선언된 우선순위의 메일을 먼저 발송한다.
+ */
+public enum MailPriority
+{
+    /**
+     * 회원 가입 인증, 이메일 로그인처럼 사용자가 기다리고 있는 메일
+     */
+    URGENT,
+
+    /**
+     * 스터디, 모임 소식 알림 메일
+     */
+    NORMAL
+}
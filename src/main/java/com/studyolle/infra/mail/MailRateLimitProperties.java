@@ -0,0 +1,48 @@
+package com.studyolle.infra.mail;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * <h1>메일 발송량 제한 설정 클래스</h1>
+ *
+ * app.mail.rate-limit.* 로 전체 발송 속도와 수신 도메인별 발송 속도를 설정한다.
+ */
+@Data
+@Component
+@ConfigurationProperties("app.mail.rate-limit")
+public class MailRateLimitProperties
+{
+    private boolean enabled = true;
+
+    /**
+     * 전체 초당 발송 수
+     */
+    private double globalPerSecond = 5;
+
+    /**
+     * 전체 한 번에 보낼 수 있는 최대 수
+     */
+    private int globalBurst = 20;
+
+    /**
+     * 수신 도메인별 분당 발송 수
+     */
+    private double domainPerMinute = 60;
+
+    /**
+     * 수신 도메인별 한 번에 보낼 수 있는 최대 수
+     */
+    private int domainBurst = 20;
+
+    /**
+     * 전체 토큰 중 {@link MailPriority#URGENT} 메일만 사용할 수 있도록 남겨두는 수
+     */
+    private int urgentReserve = 5;
+
+    /**
+     * 수신 도메인별 토큰 중 {@link MailPriority#URGENT} 메일만 사용할 수 있도록 남겨두는 수
+     */
+    private int domainUrgentReserve = 2;
+}
@@ -0,0 +1,105 @@
+package com.studyolle.infra.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * <h1>메일 발송량 제한 클래스</h1>
+ *
+ * 전체 토큰 버킷과 수신 도메인별 토큰 버킷으로 발송 속도를 제한해 SMTP 서버가 발송을 막지 않도록 한다.<br>
+ * 전체 토큰 중 {@link MailRateLimitProperties#getUrgentReserve()} 개는 {@link MailPriority#URGENT} 메일만 사용할 수 있으므로,
+ * 수신 도메인별 토큰도 {@link MailRateLimitProperties#getDomainUrgentReserve()} 개를 같은 방식으로 남겨두므로,
+ * 스터디 알림이 몰려도 회원 가입, 로그인 메일은 바로 발송된다.
+ *
+ * <pre>
+ * mail.rate-limit.throttled : 발송이 미뤄진 메일 수 (scope 태그 : global, domain)
+ * </pre>
+ *
+ * @see MailOutboxDispatcher
+ */
+@Component
+public class MailRateLimiter
+{
+    private static final int MAX_DOMAIN_BUCKETS = 10_000;
+
+    private final MailRateLimitProperties properties;
+    private final LongSupplier nanoTime;
+
+    private final TokenBucket global;
+    private final ConcurrentMap<String, TokenBucket> domains = new ConcurrentHashMap<>();
+
+    private final Counter globalThrottled;
+    private final Counter domainThrottled;
+
+    @Autowired
+    public MailRateLimiter(MailRateLimitProperties properties, MeterRegistry meterRegistry)
+    {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    MailRateLimiter(MailRateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoTime)
+    {
+        this.properties = properties;
+        this.nanoTime = nanoTime;
+        this.global = new TokenBucket(properties.getGlobalBurst(), properties.getGlobalPerSecond(), nanoTime);
+        this.globalThrottled = Counter.builder("mail.rate-limit.throttled").tag("scope", "global").register(meterRegistry);
+        this.domainThrottled = Counter.builder("mail.rate-limit.throttled").tag("scope", "domain").register(meterRegistry);
+    }
+
+    /**
+     * 메일 한 건 발송 허가 메서드
+     * @param recipient 수신자 메일 주소
+     * @param priority
+     * @return 지금 보내도 되면 {@link Duration#ZERO}, 아니면 다시 시도하기까지 기다려야 하는 시간
+     */
+    public Duration acquire(String recipient, MailPriority priority)
+    {
+        if (!properties.isEnabled())
+        {
+            return Duration.ZERO;
+        }
+
+        boolean urgent = priority == MailPriority.URGENT;
+        TokenBucket domain = domainBucket(domainOf(recipient));
+        long domainWait = domain.tryConsume(urgent ? 0 : properties.getDomainUrgentReserve());
+        if (domainWait > 0)
+        {
+            domainThrottled.increment();
+            return Duration.ofNanos(domainWait);
+        }
+
+        long globalWait = global.tryConsume(urgent ? 0 : properties.getUrgentReserve());
+        if (globalWait > 0)
+        {
+            domain.refund();
+            globalThrottled.increment();
+            return Duration.ofNanos(globalWait);
+        }
+        return Duration.ZERO;
+    }
+
+    private TokenBucket domainBucket(String domain)
+    {
+        if (domains.size() > MAX_DOMAIN_BUCKETS)
+        {
+            // 가득 찬 버킷은 새로 만든 버킷과 같으므로 지워도 제한이 풀리지 않는다.
+            domains.values().removeIf(TokenBucket::isFull);
+        }
+        return domains.computeIfAbsent(domain, key -> new TokenBucket(properties.getDomainBurst(),
+                                                                        properties.getDomainPerMinute() / 60d, nanoTime));
+    }
+
+    static String domainOf(String recipient)
+    {
+        int at = recipient == null ? -1 : recipient.lastIndexOf('@');
+        return at < 0 ? "" : recipient.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+}
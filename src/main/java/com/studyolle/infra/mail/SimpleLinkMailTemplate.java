@@ -0,0 +1,85 @@
+package com.studyolle.infra.mail;
+
+import com.studyolle.infra.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.unbescape.html.HtmlEscape;
+
+/**
+ * <h1>링크 메일 템플릿 클래스</h1>
+ *
+ * mail/simple-link 템플릿으로 메일 본문을 만든다.<br>
+ * 같은 내용을 여러 사용자에게 보낼 때는 {@link #prepare(String, String, String)} 로 수신자 이름을 제외한 부분을 한 번만 렌더링하고,
+ * 수신자마다 {@link Prepared#render(String)} 로 이름만 이어 붙인다. 이름은 Thymeleaf th:text 와 같은 방식으로 이스케이프한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SimpleLinkMailTemplate
+{
+    static final String TEMPLATE = "mail/simple-link";
+
+    /**
+     * 수신자 이름 자리에 넣어 렌더링한 뒤 잘라내는 표식. 이스케이프 대상 문자를 포함하지 않는다.
+     */
+    private static final String NICKNAME_SLOT = "__studyolle_nickname_slot__";
+
+    private final TemplateEngine templateEngine;
+    private final AppProperties appProperties;
+
+    /**
+     * 수신자 한 명에게 보낼 메일 본문을 만든다.
+     * @param nickname
+     * @param link 호스트를 제외한 링크 경로
+     * @param linkName
+     * @param message
+     * @return
+     */
+    public String render(String nickname, String link, String linkName, String message)
+    {
+        return prepare(link, linkName, message).render(nickname);
+    }
+
+    /**
+     * 수신자 이름을 제외한 부분을 렌더링한다.
+     * @param link 호스트를 제외한 링크 경로
+     * @param linkName
+     * @param message
+     * @return
+     */
+    public Prepared prepare(String link, String linkName, String message)
+    {
+        Context context = new Context();
+        context.setVariable("nickname", NICKNAME_SLOT);
+        context.setVariable("link", link);
+        context.setVariable("linkName", linkName);
+        context.setVariable("message", message);
+        context.setVariable("host", appProperties.getHost());
+
+        String rendered = templateEngine.process(TEMPLATE, context);
+        int slot = rendered.indexOf(NICKNAME_SLOT);
+        return new Prepared(rendered.substring(0, slot), rendered.substring(slot + NICKNAME_SLOT.length()));
+    }
+
+    /**
+     * 수신자 이름만 비어있는 메일 본문
+     */
+    @RequiredArgsConstructor
+    public static class Prepared
+    {
+        private final String head;
+
+        private final String tail;
+
+        public String render(String nickname)
+        {
+            String escaped = nickname == null ? "" : HtmlEscape.escapeHtml4Xml(nickname);
+            return new StringBuilder(head.length() + escaped.length() + tail.length())
+                                .append(head)
+                                .append(escaped)
+                                .append(tail)
+                            .toString();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.studyolle.infra.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>SMTP 연결 풀 클래스</h1>
+ *
+ * 연결, 인증, STARTTLS 를 마친 {@link Transport} 를 최대 {@link SmtpPoolProperties#getMaxConnections()} 개까지 보관하고 재사용한다.<br>
+ * 오래 쉬었거나 많이 사용한 연결, 발송 중 오류가 난 연결은 반납하지 않고 닫는다.
+ *
+ * <pre>
+ * mail.smtp.connections.opened : 새로 맺은 연결 수
+ * </pre>
+ */
+@Slf4j
+public class SmtpConnectionPool
+{
+    private final JavaMailSenderImpl mailSender;
+    private final SmtpPoolProperties properties;
+
+    private final Semaphore permits;
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+
+    private final Counter opened;
+
+    public SmtpConnectionPool(JavaMailSenderImpl mailSender, SmtpPoolProperties properties, MeterRegistry meterRegistry)
+    {
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getMaxConnections(), true);
+        this.opened = Counter.builder("mail.smtp.connections.opened").register(meterRegistry);
+    }
+
+    /**
+     * 연결 대여 메서드. 반드시 {@link #release(PooledTransport, boolean)} 로 돌려주어야 한다.
+     * @return
+     */
+    public PooledTransport borrow()
+    {
+        try
+        {
+            if (!permits.tryAcquire(properties.getBorrowTimeout().toMillis(), TimeUnit.MILLISECONDS))
+            {
+                throw new MailSendException("no SMTP connection available in " + properties.getBorrowTimeout());
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("interrupted while waiting for an SMTP connection", e);
+        }
+
+        try
+        {
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null)
+            {
+                if (pooled.isReusable())
+                {
+                    return pooled;
+                }
+                pooled.close();
+            }
+            return connect();
+        }
+        catch (RuntimeException e)
+        {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 연결 반납 메서드
+     * @param pooled
+     * @param broken 발송 중 오류가 났으면 true, 연결을 닫는다.
+     */
+    public void release(PooledTransport pooled, boolean broken)
+    {
+        try
+        {
+            if (broken || pooled.isExhausted())
+            {
+                pooled.close();
+            }
+            else
+            {
+                pooled.lastUsed = System.nanoTime();
+                idle.offerFirst(pooled);
+            }
+        }
+        finally
+        {
+            permits.release();
+        }
+    }
+
+    /**
+     * 보관 중인 연결을 모두 닫는다.
+     */
+    public void close()
+    {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null)
+        {
+            pooled.close();
+        }
+    }
+
+    private PooledTransport connect()
+    {
+        try
+        {
+            Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+            transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+            opened.increment();
+            return new PooledTransport(transport);
+        }
+        catch (MessagingException e)
+        {
+            throw new MailSendException("could not connect to SMTP server " + mailSender.getHost(), e);
+        }
+    }
+
+    /**
+     * 대여한 연결
+     */
+    public class PooledTransport
+    {
+        private final Transport transport;
+
+        private int sent;
+
+        private long lastUsed = System.nanoTime();
+
+        PooledTransport(Transport transport)
+        {
+            this.transport = transport;
+        }
+
+        public Transport getTransport()
+        {
+            return transport;
+        }
+
+        public void sent()
+        {
+            sent++;
+        }
+
+        /**
+         * 연결당 최대 메일 수만큼 보냈으면 true
+         * @return
+         */
+        public boolean isExhausted()
+        {
+            return sent >= properties.getMaxMessagesPerConnection();
+        }
+
+        boolean isReusable()
+        {
+            return !isExhausted()
+                    && transport.isConnected()
+                    && System.nanoTime() - lastUsed < properties.getIdleTimeout().toNanos();
+        }
+
+        void close()
+        {
+            try
+            {
+                transport.close();
+            }
+            catch (MessagingException e)
+            {
+                log.debug("SMTP connection close has failed", e);
+            }
+        }
+    }
+}
@@ -1,50 +1,204 @@
 package com.studyolle.infra.mail;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * <h1>SMTP 메일 발송 서비스 클래스</h1>
  *
  * 실행환경(Profile)이 dev 일 때 Bean 으로 생성된다.<br>
  * 구글 SMTP 를 이용해 실제로 메일을 발송한다.
+ * 메일마다 연결, 인증, STARTTLS 를 반복하지 않도록 {@link SmtpConnectionPool} 의 연결을 재사용하고,
+ * {@link #sendEmails(Collection)} 는 연결 하나로 여러 메일을 이어서 보낸다.
  */
 @Component
 @Profile("dev")
 @Slf4j
-@RequiredArgsConstructor
 public class SmtpMailService implements EmailService
 {
-    private final JavaMailSender mailSender;
+    private final JavaMailSenderImpl mailSender;
+
+    private final SmtpPoolProperties properties;
+
+    private final SmtpConnectionPool connectionPool;
 
     private final String sender = "studyOlle@noreply.com";
 
+    public SmtpMailService(JavaMailSenderImpl mailSender, SmtpPoolProperties properties, MeterRegistry meterRegistry)
+    {
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.connectionPool = new SmtpConnectionPool(mailSender, properties, meterRegistry);
+    }
+
     @Override
     public void sendEmail(EmailMessage emailMessage)
     {
-        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        sendEmails(List.of(emailMessage));
+    }
+
+    /**
+     * 여러 메일을 발송한다. 연결 풀을 사용하면 대여한 연결 하나로 이어서 보내고,
+     * 연결당 최대 메일 수를 넘거나 발송 중 연결이 끊어지면 새 연결로 바꿔서 이어서 보낸다.<br>
+     * 실패한 메일은 같은 내용의 메일이 여러 건이어도 한 건씩 남도록 객체 동일성으로 구분하고,
+     * 발송 도중 예외로 멈추면 이미 보낸 메일은 제외하고 보내지 못한 메일만 실패로 돌려준다.
+     * @param emailMessages 발송할 메일 메시지 객체
+     * @throws MailSendException 일부 메일이 실패한 경우, {@link MailSendException#getFailedMessages()} 에 실패한 {@link EmailMessage} 가 담긴다.
+     */
+    @Override
+    public void sendEmails(Collection<EmailMessage> emailMessages)
+    {
+        if (!properties.isEnabled())
+        {
+            sendEachWithNewConnection(emailMessages);
+            return;
+        }
 
+        List<EmailMessage> messages = new ArrayList<>(emailMessages);
+        Map<Object, Exception> failedMessages = new IdentityHashMap<>();
+        SmtpConnectionPool.PooledTransport pooled = null;
+        int retried = -1;
         try
         {
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
-            helper.setTo(emailMessage.getTo());
-            helper.setFrom(sender);
-            helper.setSubject(emailMessage.getSubject());
-            helper.setText(emailMessage.getMessage(), true);
+            for (int i = 0; i < messages.size(); i++)
+            {
+                EmailMessage emailMessage = messages.get(i);
+                try
+                {
+                    if (pooled == null || pooled.isExhausted())
+                    {
+                        if (pooled != null)
+                        {
+                            connectionPool.release(pooled, false);
+                            pooled = null;
+                        }
+                        pooled = connectionPool.borrow();
+                    }
+                    send(pooled, createMimeMessage(emailMessage));
+                }
+                catch (MessagingException e)
+                {
+                    if (pooled.getTransport().isConnected())
+                    {
+                        // 수신자 거부처럼 이 메일만의 문제이면 연결은 그대로 사용한다.
+                        failedMessages.put(emailMessage, e);
+                        continue;
+                    }
+
+                    log.debug("SMTP connection lost, reconnecting", e);
+                    connectionPool.release(pooled, true);
+                    pooled = null;
 
-            mailSender.send(mimeMessage);
+                    // 새 연결로 한 번만 다시 보낸다.
+                    if (retried == i)
+                    {
+                        failedMessages.put(emailMessage, e);
+                    }
+                    else
+                    {
+                        retried = i--;
+                    }
+                }
+                catch (MailSendException connectFailure)
+                {
+                    // 연결하지 못하면 남은 메일은 모두 실패로 돌려준다.
+                    failRemaining(messages, i, failedMessages, connectFailure);
+                    break;
+                }
+                catch (RuntimeException e)
+                {
+                    log.error("email send has stopped", e);
+                    failRemaining(messages, i, failedMessages, e);
+                    break;
+                }
+            }
+        }
+        finally
+        {
+            if (pooled != null)
+            {
+                connectionPool.release(pooled, false);
+            }
         }
-        catch (MessagingException e)
+
+        if (!failedMessages.isEmpty())
         {
-            log.error("email send has failed", e);
-            throw new RuntimeException(e);
+            log.error("{} of {} emails have failed", failedMessages.size(), emailMessages.size());
+            throw new MailSendException(failedMessages);
         }
     }
+
+    @PreDestroy
+    void closeConnections()
+    {
+        connectionPool.close();
+    }
+
+    private void send(SmtpConnectionPool.PooledTransport pooled, MimeMessage mimeMessage) throws MessagingException
+    {
+        pooled.getTransport().sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+        pooled.sent();
+    }
+
+    /**
+     * 보내지 못한 메일을 실패로 남긴다.
+     * @param messages
+     * @param from 보내지 못한 첫 메일의 위치
+     * @param failedMessages
+     * @param failure
+     */
+    private static void failRemaining(List<EmailMessage> messages, int from, Map<Object, Exception> failedMessages, Exception failure)
+    {
+        messages.subList(from, messages.size()).forEach(remaining -> failedMessages.put(remaining, failure));
+    }
+
+    private void sendEachWithNewConnection(Collection<EmailMessage> emailMessages)
+    {
+        Map<Object, Exception> failedMessages = new IdentityHashMap<>();
+        for (EmailMessage emailMessage : emailMessages)
+        {
+            try
+            {
+                mailSender.send(createMimeMessage(emailMessage));
+            }
+            catch (MessagingException | RuntimeException e)
+            {
+                log.error("email send has failed", e);
+                failedMessages.put(emailMessage, e);
+            }
+        }
+
+        if (!failedMessages.isEmpty())
+        {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    private MimeMessage createMimeMessage(EmailMessage emailMessage) throws MessagingException
+    {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
+        helper.setTo(emailMessage.getTo());
+        helper.setFrom(sender);
+        helper.setSubject(emailMessage.getSubject());
+        helper.setText(emailMessage.getMessage(), true);
+        mimeMessage.saveChanges();
+
+        return mimeMessage;
+    }
 }
@@ -0,0 +1,40 @@
+package com.studyolle.infra.mail;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * <h1>SMTP 연결 풀 설정 클래스</h1>
+ *
+ * app.mail.smtp-pool.* 로 {@link SmtpMailService} 가 재사용하는 SMTP 연결 수와 교체 주기를 설정한다.
+ */
+@Data
+@Component
+@ConfigurationProperties("app.mail.smtp-pool")
+public class SmtpPoolProperties
+{
+    /**
+     * false 이면 메일마다 연결을 새로 맺는다.
+     */
+    private boolean enabled = true;
+
+    private int maxConnections = 4;
+
+    /**
+     * 연결 하나로 보낸 메일이 이 수를 넘으면 연결을 새로 맺는다.
+     */
+    private int maxMessagesPerConnection = 100;
+
+    /**
+     * 이 시간 동안 사용하지 않은 연결은 서버가 끊었을 수 있으므로 새로 맺는다.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 모든 연결이 사용 중일 때 기다리는 최대 시간
+     */
+    private Duration borrowTimeout = Duration.ofSeconds(30);
+}
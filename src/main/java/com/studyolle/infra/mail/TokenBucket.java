@@ -0,0 +1,73 @@
+package com.studyolle.infra.mail;
+
+import java.util.function.LongSupplier;
+
+/**
+ * <h1>토큰 버킷 클래스</h1>
+ *
+ * 초당 일정한 속도로 최대 capacity 개까지 토큰이 채워지고, 메일 한 건을 보낼 때마다 토큰 하나를 사용한다.
+ */
+class TokenBucket
+{
+    private final double capacity;
+
+    private final double tokensPerNano;
+
+    private final LongSupplier nanoTime;
+
+    private double tokens;
+
+    private long refilledAt;
+
+    /**
+     * @param capacity 한 번에 보낼 수 있는 최대 수
+     * @param tokensPerSecond 초당 채워지는 토큰 수
+     * @param nanoTime
+     */
+    TokenBucket(double capacity, double tokensPerSecond, LongSupplier nanoTime)
+    {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.nanoTime = nanoTime;
+        this.tokens = capacity;
+        this.refilledAt = nanoTime.getAsLong();
+    }
+
+    /**
+     * reserve 개를 남겨두고 토큰 하나를 사용한다.
+     * @param reserve 사용하지 않고 남겨둘 토큰 수
+     * @return 사용했으면 0, 아니면 사용할 수 있을 때까지 기다려야 하는 시간 (나노초)
+     */
+    synchronized long tryConsume(double reserve)
+    {
+        refill();
+        double required = 1 + Math.min(reserve, capacity - 1);
+        if (tokens >= required)
+        {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((required - tokens) / tokensPerNano);
+    }
+
+    /**
+     * 사용한 토큰 하나를 돌려준다.
+     */
+    synchronized void refund()
+    {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    synchronized boolean isFull()
+    {
+        refill();
+        return tokens >= capacity;
+    }
+
+    private void refill()
+    {
+        long now = nanoTime.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
@@ -1,5 +1,6 @@
 package com.studyolle.modules.account;
 
+import com.studyolle.infra.mail.MailDigestPeriod;
 import com.studyolle.modules.study.Study;
 import com.studyolle.modules.tag.Tag;
 import com.studyolle.modules.zone.Zone;
@@ -114,6 +115,12 @@ public class Account
      */
     private boolean studyUpdatedByWeb = true;
 
+    /**
+     * 스터디 개설/업데이트 이메일을 모아서 받는 주기 (NONE 이면 바로 받는다)
+     */
+    @Enumerated(EnumType.STRING)
+    private MailDigestPeriod emailDigest = MailDigestPeriod.NONE;
+
     /**
      * 인증 메일 발송 일시
      */
@@ -9,7 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
  * <h1>Account 리포지토리</h1>
  */
 @Transactional(readOnly = true)
-public interface AccountRepository extends JpaRepository<Account, Long>, QuerydslPredicateExecutor<Account>
+public interface AccountRepository extends JpaRepository<Account, Long>, QuerydslPredicateExecutor<Account>, AccountRepositoryCustom
 {
     boolean existsByEmail(String email);
 
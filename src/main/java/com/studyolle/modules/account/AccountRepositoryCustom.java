@@ -0,0 +1,15 @@
+package com.studyolle.modules.account;
+
+import com.studyolle.modules.tag.Tag;
+import com.studyolle.modules.zone.Zone;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Transactional(readOnly = true)
+public interface AccountRepositoryCustom
+{
+    void forEachRecipientChunk(Set<Tag> tags, Set<Zone> zones, int chunkSize, Consumer<List<NotificationRecipient>> consumer);
+}
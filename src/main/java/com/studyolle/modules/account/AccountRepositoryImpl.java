@@ -0,0 +1,70 @@
+package com.studyolle.modules.account;
+
+import com.querydsl.core.types.Projections;
+import com.studyolle.modules.tag.Tag;
+import com.studyolle.modules.zone.Zone;
+import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.studyolle.modules.account.QAccount.account;
+
+public class AccountRepositoryImpl extends QuerydslRepositorySupport implements AccountRepositoryCustom
+{
+    public AccountRepositoryImpl()
+    {
+        super(Account.class);
+    }
+
+    /**
+     * 관심 주제와 활동 지역이 겹치는 사용자를 아이디 순으로 chunkSize 건씩 나눠 전달한다.
+     * 아이디 기준 키셋 페이징이라 청크마다 인덱스로 바로 이어서 조회하고, 프로젝션만 조회하므로
+     * 영속성 컨텍스트와 메모리 사용량은 전체 수신자 수와 관계없이 한 청크 크기로 유지된다.
+     * @param tags 스터디 태그
+     * @param zones 스터디 지역
+     * @param chunkSize 청크 크기
+     * @param consumer 청크 처리
+     */
+    @Override
+    public void forEachRecipientChunk(Set<Tag> tags, Set<Zone> zones, int chunkSize, Consumer<List<NotificationRecipient>> consumer)
+    {
+        if (tags.isEmpty() || zones.isEmpty())
+        {
+            return;
+        }
+
+        long lastId = 0;
+        while (true)
+        {
+            List<NotificationRecipient> chunk = from(account)
+                                                .select(Projections.constructor(NotificationRecipient.class,
+                                                        account.id,
+                                                        account.nickname,
+                                                        account.email,
+                                                        account.studyCreatedByEmail,
+                                                        account.studyCreatedByWeb,
+                                                        account.studyUpdatedByEmail,
+                                                        account.studyUpdatedByWeb,
+                                                        account.studyEnrollmentResultByEmail,
+                                                        account.studyEnrollmentResultByWeb,
+                                                        account.emailDigest))
+                                                .where(AccountPredicates.findByTagsAndZones(tags, zones), account.id.gt(lastId))
+                                                .orderBy(account.id.asc())
+                                                .limit(chunkSize)
+                                                .fetch();
+            if (chunk.isEmpty())
+            {
+                return;
+            }
+
+            consumer.accept(chunk);
+            if (chunk.size() < chunkSize)
+            {
+                return;
+            }
+            lastId = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package com.studyolle.modules.account;
 
-import com.studyolle.infra.config.AppProperties;
+import com.studyolle.modules.account.event.AccountInterestChangedEvent;
 import com.studyolle.modules.account.form.SignUpForm;
 import com.studyolle.modules.tag.Tag;
 import com.studyolle.modules.zone.Zone;
 import com.studyolle.modules.account.form.NicknameForm;
 import com.studyolle.modules.account.form.PasswordForm;
 import com.studyolle.infra.mail.EmailMessage;
-import com.studyolle.infra.mail.EmailService;
+import com.studyolle.infra.mail.MailOutbox;
+import com.studyolle.infra.mail.MailPriority;
+import com.studyolle.infra.mail.SimpleLinkMailTemplate;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
@@ -20,8 +23,6 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -37,11 +38,11 @@ import java.util.Set;
 public class AccountService implements UserDetailsService
 {
     private final AccountRepository accountRepository;
-    private final EmailService emailService;
+    private final MailOutbox mailOutbox;
     private final PasswordEncoder passwordEncoder;
     private final ModelMapper modelMapper;
-    private final TemplateEngine templateEngine;
-    private final AppProperties appProperties;
+    private final SimpleLinkMailTemplate simpleLinkMailTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 회원 가입
@@ -71,22 +72,18 @@ public class AccountService implements UserDetailsService
      */
     public void sendSignUpConfirmEmail(Account account)
     {
-        Context context = new Context();
-        context.setVariable("nickname", account.getNickname());
-        context.setVariable("linkName", "이메일 인증하기");
-        context.setVariable("link", "/check-email-token?token=" + account.getEmailCheckToken() + "&email=" + account.getEmail());
-        context.setVariable("message", "스터디올래 서비스를 이용하시려면 링크를 클릭하세요.");
-        context.setVariable("host", appProperties.getHost());
-
-        String process = templateEngine.process("mail/simple-link", context);
+        String process = simpleLinkMailTemplate.render(account.getNickname(),
+                                                        "/check-email-token?token=" + account.getEmailCheckToken() + "&email=" + account.getEmail(),
+                                                        "이메일 인증하기", "스터디올래 서비스를 이용하시려면 링크를 클릭하세요.");
 
         EmailMessage message = EmailMessage.builder()
                                                 .subject("[StudyOlle] 회원 가입 인증")
                                                 .to(account.getEmail())
                                                 .message(process)
+                                                .priority(MailPriority.URGENT)
                                             .build();
 
-        emailService.sendEmail(message);
+        mailOutbox.enqueue(message);
 
         account.setConfirmMailSendDate(LocalDateTime.now());
     }
@@ -195,22 +192,18 @@ public class AccountService implements UserDetailsService
      */
     public void sendLoginLink(Account account)
     {
-        Context context = new Context();
-        context.setVariable("nickname", account.getNickname());
-        context.setVariable("linkName", "이메일 로그인");
-        context.setVariable("link", "/login-by-email?token=" + account.getEmailCheckToken() + "&email=" + account.getEmail());
-        context.setVariable("message", "스터디올래에 이메일로 로그인하시려면 링크를 클릭하세요.");
-        context.setVariable("host", appProperties.getHost());
-
-        String process = templateEngine.process("mail/simple-link", context);
+        String process = simpleLinkMailTemplate.render(account.getNickname(),
+                                                        "/login-by-email?token=" + account.getEmailCheckToken() + "&email=" + account.getEmail(),
+                                                        "이메일 로그인", "스터디올래에 이메일로 로그인하시려면 링크를 클릭하세요.");
 
         EmailMessage message = EmailMessage.builder()
                                                 .subject("[StudyOlle] 이메일 로그인 링크")
                                                 .to(account.getEmail())
                                                 .message(process)
+                                                .priority(MailPriority.URGENT)
                                             .build();
 
-        emailService.sendEmail(message);
+        mailOutbox.enqueue(message);
 
         account.setConfirmMailSendDate(LocalDateTime.now());
 
@@ -226,6 +219,7 @@ public class AccountService implements UserDetailsService
     {
         Optional<Account> byId = accountRepository.findById(account.getId());
         byId.ifPresent(a -> a.getTags().add(tag));
+        eventPublisher.publishEvent(new AccountInterestChangedEvent(account.getId()));
     }
 
     /**
@@ -248,6 +242,7 @@ public class AccountService implements UserDetailsService
     {
         Optional<Account> byId = accountRepository.findById(account.getId());
         byId.orElseThrow().getTags().remove(tag);
+        eventPublisher.publishEvent(new AccountInterestChangedEvent(account.getId()));
     }
 
     /**
@@ -270,6 +265,7 @@ public class AccountService implements UserDetailsService
     {
         Optional<Account> byId = accountRepository.findById(account.getId());
         byId.ifPresent(a -> a.getZones().add(zone));
+        eventPublisher.publishEvent(new AccountInterestChangedEvent(account.getId()));
     }
 
     /**
@@ -281,5 +277,6 @@ public class AccountService implements UserDetailsService
     {
         Optional<Account> byId = accountRepository.findById(account.getId());
         byId.orElseThrow().getZones().remove(zone);
+        eventPublisher.publishEvent(new AccountInterestChangedEvent(account.getId()));
     }
 }
@@ -0,0 +1,30 @@
+package com.studyolle.modules.account;
+
+import com.studyolle.infra.mail.MailDigestPeriod;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h1>알림 수신자 프로젝션 클래스</h1>
+ *
+ * 알림 발송에 필요한 사용자 아이디, 닉네임, 이메일과 알림 설정만 조회한다.<br>
+ * 엔티티가 아니므로 영속성 컨텍스트에 쌓이지 않고, 프로필 이미지(@Lob) 같은 컬럼도 읽지 않는다.
+ *
+ * @see AccountRepositoryCustom#forEachRecipientChunk
+ */
+@Getter
+@RequiredArgsConstructor
+public class NotificationRecipient
+{
+    private final Long id;
+    private final String nickname;
+    private final String email;
+
+    private final boolean studyCreatedByEmail;
+    private final boolean studyCreatedByWeb;
+    private final boolean studyUpdatedByEmail;
+    private final boolean studyUpdatedByWeb;
+    private final boolean studyEnrollmentResultByEmail;
+    private final boolean studyEnrollmentResultByWeb;
+    private final MailDigestPeriod emailDigest;
+}
@@ -1,5 +1,6 @@
 package com.studyolle.modules.account;
 
+import com.studyolle.infra.mail.MailDigestPeriod;
 import lombok.Data;
 
 /**
@@ -14,4 +15,5 @@ public class Notifications
     private boolean studyEnrollmentResultByWeb;
     private boolean studyUpdatedByEmail;
     private boolean studyUpdatedByWeb;
+    private MailDigestPeriod emailDigest = MailDigestPeriod.NONE;
 }
@@ -0,0 +1,19 @@
+package com.studyolle.modules.account.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h1>사용자 관심 주제/활동 지역 변경 이벤트 클래스</h1>
+ *
+ * 사용자가 관심 주제(태그)나 활동 지역을 추가/제거했을 때 발생한다.<br>
+ * account 모듈은 다른 모듈을 참조하지 않으므로, 추천 스터디처럼 관심사에 의존하는 기능은 이 이벤트로 변경을 전달받는다.
+ *
+ * @see com.studyolle.modules.account.AccountService
+ */
+@Getter
+@RequiredArgsConstructor
+public class AccountInterestChangedEvent
+{
+    private final Long accountId;
+}
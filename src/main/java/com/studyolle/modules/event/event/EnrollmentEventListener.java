@@ -1,22 +1,22 @@
 package com.studyolle.modules.event.event;
 
-import com.studyolle.infra.config.AppProperties;
 import com.studyolle.infra.mail.EmailMessage;
-import com.studyolle.infra.mail.EmailService;
+import com.studyolle.infra.mail.MailOutbox;
+import com.studyolle.infra.mail.SimpleLinkMailTemplate;
 import com.studyolle.modules.account.Account;
 import com.studyolle.modules.event.Enrollment;
 import com.studyolle.modules.event.Event;
 import com.studyolle.modules.notification.Notification;
 import com.studyolle.modules.notification.NotificationRepository;
+import com.studyolle.modules.notification.NotificationStreamBroker;
 import com.studyolle.modules.notification.NotificationType;
+import com.studyolle.modules.notification.UnreadNotificationCounter;
 import com.studyolle.modules.study.Study;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 import java.time.LocalDateTime;
 
@@ -28,15 +28,16 @@ import java.time.LocalDateTime;
  * @see com.studyolle.modules.event.event.EnrollmentRejectEvent
  */
 @Component
-@Async
+@Async("enrollmentEventExecutor")
 @Transactional
 @RequiredArgsConstructor
 public class EnrollmentEventListener
 {
     private final NotificationRepository notificationRepository;
-    private final EmailService emailService;
-    private final TemplateEngine templateEngine;
-    private final AppProperties appProperties;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationStreamBroker notificationStreamBroker;
+    private final MailOutbox mailOutbox;
+    private final SimpleLinkMailTemplate simpleLinkMailTemplate;
 
 
     @EventListener
@@ -77,22 +78,15 @@ public class EnrollmentEventListener
 
     private void sendStudyEnrollmentResultMail(EnrollmentEvent enrollmentEvent, Account account, Event event, Study study)
     {
-
-        Context context = new Context();
-        context.setVariable("link", "/study/" + study.getEncodePath() + "/events/" + event.getId());
-        context.setVariable("nickname", account.getNickname());
-        context.setVariable("linkName", event.getTitle());
-        context.setVariable("message", enrollmentEvent.getMessage());
-        context.setVariable("host", appProperties.getHost());
-
-        String email = templateEngine.process("mail/simple-link", context);
+        String email = simpleLinkMailTemplate.render(account.getNickname(), "/study/" + study.getEncodePath() + "/events/" + event.getId(),
+                                                        event.getTitle(), enrollmentEvent.getMessage());
 
         EmailMessage emailMessage = EmailMessage.builder()
                 .subject("[스터디올래] " + study.getTitle() + " 스터디의 " + event.getTitle() + " 모임에 " + enrollmentEvent.getMessage())
                 .to(account.getEmail())
                 .message(email)
                 .build();
-        emailService.sendEmail(emailMessage);
+        mailOutbox.enqueue(emailMessage);
     }
 
     private void saveStudyEnrollmentResultNotification(EnrollmentEvent enrollmentEvent, Account account, Event event, Study study)
@@ -108,5 +102,7 @@ public class EnrollmentEventListener
                                                 .build();
 
         notificationRepository.save(notification);
+        unreadNotificationCounter.evict(account.getId());
+        notificationStreamBroker.publish(account.getId(), notification);
     }
 }
@@ -0,0 +1,120 @@
+package com.studyolle.modules.main;
+
+import com.studyolle.modules.study.StudyRepository;
+import com.studyolle.modules.study.event.StudyChangedEvent;
+import com.studyolle.modules.study.event.StudyCreatedEvent;
+import com.studyolle.modules.study.event.StudyUpdateEvent;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * <h1>비로그인 메인 페이지 캐시 클래스</h1>
+ *
+ * 비로그인 메인 페이지는 모든 사용자에게 같은 최근 공개 스터디 9건을 보여주므로, 조회 결과를 {@link StudyCard} 목록으로 만들어 공유한다.<br>
+ * 스터디가 공개/종료되거나 카드에 보이는 값이 변경되면 커밋 이후 비동기로 다시 조회하고,
+ * 내용이 바뀐 경우에만 ETag 와 Last-Modified 를 갱신하므로 브라우저와 프록시는 조건부 요청으로 304 응답을 받을 수 있다.
+ *
+ * @see MainController#home
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AnonymousHomeCache
+{
+    private final StudyRepository studyRepository;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 현재 스냅샷. 아직 조회한 적이 없으면 이 때 조회한다.
+     * @return
+     */
+    public Snapshot get()
+    {
+        Snapshot current = snapshot;
+        if (current == null)
+        {
+            synchronized (this)
+            {
+                current = snapshot;
+                if (current == null)
+                {
+                    current = refresh();
+                }
+            }
+        }
+        return current;
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyCreatedEvent(StudyCreatedEvent event)
+    {
+        refresh();
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyUpdateEvent(StudyUpdateEvent event)
+    {
+        refresh();
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyChangedEvent(StudyChangedEvent event)
+    {
+        refresh();
+    }
+
+    /**
+     * 최근 공개 스터디를 다시 조회해 스냅샷을 교체한다. 내용이 같으면 기존 스냅샷을 유지한다.
+     * @return 교체된(또는 유지된) 스냅샷
+     */
+    synchronized Snapshot refresh()
+    {
+        List<StudyCard> studies = studyRepository.findTop9ByPublishedTrueAndClosedFalseOrderByPublishedDateTimeDesc().stream()
+                                                    .map(StudyCard::from)
+                                                    .collect(Collectors.toUnmodifiableList());
+        String etag = etag(studies);
+
+        Snapshot current = snapshot;
+        if (current == null || !current.getEtag().equals(etag))
+        {
+            current = new Snapshot(studies, etag, Instant.now().toEpochMilli());
+            snapshot = current;
+            log.debug("anonymous home page refreshed : {}", etag);
+        }
+        return current;
+    }
+
+    private static String etag(List<StudyCard> studies)
+    {
+        String fingerprint = studies.stream().map(StudyCard::fingerprint).collect(Collectors.joining("\n"));
+        return "W/\"" + DigestUtils.md5DigestAsHex(fingerprint.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Snapshot
+    {
+        private final List<StudyCard> studies;
+
+        private final String etag;
+
+        /**
+         * 내용이 마지막으로 바뀐 시각 (epoch milli)
+         */
+        private final long lastModified;
+    }
+}
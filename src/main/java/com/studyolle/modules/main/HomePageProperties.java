@@ -0,0 +1,20 @@
+package com.studyolle.modules.main;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * <h1>메인 페이지 설정 클래스</h1>
+ *
+ * app.home.section-timeout 은 로그인 후 메인 페이지의 각 영역 조회를 기다리는 최대 시간이다.
+ */
+@Data
+@Component
+@ConfigurationProperties("app.home")
+public class HomePageProperties
+{
+    private Duration sectionTimeout = Duration.ofMillis(500);
+}
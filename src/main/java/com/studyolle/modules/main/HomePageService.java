@@ -0,0 +1,137 @@
+package com.studyolle.modules.main;
+
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountRepository;
+import com.studyolle.modules.event.EnrollmentRepository;
+import com.studyolle.modules.study.StudyRepository;
+import com.studyolle.modules.study.recommendation.StudyRecommendationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.ui.Model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * <h1>메인 페이지 조회 서비스 클래스</h1>
+ *
+ * 로그인한 사용자의 메인 페이지를 구성하는 쿼리는 서로 의존하지 않으므로 homePageExecutor 에서 동시에 실행한다.<br>
+ * 각 쿼리는 별도의 읽기 전용 트랜잭션에서 실행되고, 제한 시간(app.home.section-timeout) 안에 끝나지 않거나 실패한 영역은
+ * 빈 목록으로 보여준다. 단, 사용자 정보(관심 주제, 활동 지역)는 페이지 전체에서 사용하므로 나머지 영역이 실행되는 동안
+ * 요청 스레드에서 직접 조회한다.
+ *
+ * <pre>
+ * home.section.latency{section} : 영역별 쿼리 실행 시간
+ * home.section.degraded{section} : 제한 시간 초과, 실패, 거절로 비워서 보여준 횟수
+ * </pre>
+ */
+@Service
+@Slf4j
+public class HomePageService
+{
+    private final AccountRepository accountRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudyRepository studyRepository;
+    private final StudyRecommendationService studyRecommendationService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Executor homePageExecutor;
+    private final MeterRegistry meterRegistry;
+    private final HomePageProperties homePageProperties;
+
+    public HomePageService(AccountRepository accountRepository,
+                           EnrollmentRepository enrollmentRepository,
+                           StudyRepository studyRepository,
+                           StudyRecommendationService studyRecommendationService,
+                           PlatformTransactionManager transactionManager,
+                           @Qualifier("homePageExecutor") Executor homePageExecutor,
+                           MeterRegistry meterRegistry,
+                           HomePageProperties homePageProperties)
+    {
+        this.accountRepository = accountRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.studyRepository = studyRepository;
+        this.studyRecommendationService = studyRecommendationService;
+        this.homePageExecutor = homePageExecutor;
+        this.meterRegistry = meterRegistry;
+        this.homePageProperties = homePageProperties;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 로그인한 사용자의 메인 페이지 영역들을 조회해 모델에 담는다.
+     * @param account 로그인한 사용자
+     * @param model
+     */
+    public void addSections(Account account, Model model)
+    {
+        long deadline = System.nanoTime() + homePageProperties.getSectionTimeout().toNanos();
+
+        CompletableFuture<List<?>> enrollmentList = submit("enrollmentList", true,
+                () -> enrollmentRepository.findByAccountAndAcceptedAndAttendedFalse(account, true));
+        // 첫 조회 시 추천 목록을 저장하므로 추천 서비스의 트랜잭션에서 실행한다.
+        CompletableFuture<List<?>> studyList = submit("studyList", false,
+                () -> studyRecommendationService.getRecommendedStudies(account));
+        CompletableFuture<List<?>> studyManagerOf = submit("studyManagerOf", true,
+                () -> studyRepository.findFirst5ByManagersContainingAndClosedOrderByPublishedDateTimeDesc(account, false));
+        CompletableFuture<List<?>> studyMemberOf = submit("studyMemberOf", true,
+                () -> studyRepository.findFirst5ByMembersContainingAndClosedOrderByPublishedDateTimeDesc(account, false));
+
+        model.addAttribute("account", timed("account", true, () -> accountRepository.findAccountWithTagsAndZonesById(account.getId())).get());
+        model.addAttribute("enrollmentList", await("enrollmentList", enrollmentList, deadline));
+        model.addAttribute("studyList", await("studyList", studyList, deadline));
+        model.addAttribute("studyManagerOf", await("studyManagerOf", studyManagerOf, deadline));
+        model.addAttribute("studyMemberOf", await("studyMemberOf", studyMemberOf, deadline));
+    }
+
+    private <T> CompletableFuture<T> submit(String section, boolean readOnly, Supplier<T> query)
+    {
+        try
+        {
+            return CompletableFuture.supplyAsync(timed(section, readOnly, query), homePageExecutor);
+        }
+        catch (RejectedExecutionException e)
+        {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> Supplier<T> timed(String section, boolean readOnly, Supplier<T> query)
+    {
+        Timer timer = Timer.builder("home.section.latency").tag("section", section).register(meterRegistry);
+        return () -> timer.record(() -> readOnly ? readOnlyTransaction.execute(status -> query.get()) : query.get());
+    }
+
+    private List<?> await(String section, CompletableFuture<List<?>> future, long deadline)
+    {
+        try
+        {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+        catch (TimeoutException e)
+        {
+            future.cancel(false);
+            log.warn("home page section timed out : {}", section);
+        }
+        catch (ExecutionException e)
+        {
+            log.error("home page section failed : {}", section, e.getCause());
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        Counter.builder("home.section.degraded").tag("section", section).register(meterRegistry).increment();
+        return Collections.emptyList();
+    }
+}
@@ -4,25 +4,33 @@ import com.studyolle.modules.account.AccountRepository;
 import com.studyolle.modules.account.AccountService;
 import com.studyolle.modules.account.CurrentUser;
 import com.studyolle.modules.account.Account;
-import com.studyolle.modules.event.Enrollment;
-import com.studyolle.modules.event.EnrollmentRepository;
 import com.studyolle.modules.study.Study;
 import com.studyolle.modules.study.StudyRepository;
+import com.studyolle.modules.study.search.StudyCursor;
+import com.studyolle.modules.study.search.StudyCursorPage;
+import com.studyolle.modules.study.search.StudySearchFilter;
+import com.studyolle.modules.study.search.StudySearchProperties;
+import com.studyolle.modules.study.search.StudySuggestion;
+import com.studyolle.modules.study.search.StudyTitleTrie;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * <h1>메인 컨트롤러</h1>
@@ -33,37 +41,46 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class MainController
 {
+    private static final String RELEVANCE = "relevance";
+    private static final int MAX_SUGGESTION_SIZE = 10;
+
     private final AccountService accountService;
     private final AccountRepository accountRepository;
     private final StudyRepository studyRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private final StudySearchProperties studySearchProperties;
+    private final StudyTitleTrie studyTitleTrie;
+    private final HomePageService homePageService;
+    private final AnonymousHomeCache anonymousHomeCache;
 
+    /**
+     * 메인 페이지 요청 메서드
+     * 비로그인 사용자에게는 캐시된 스터디 목록을 보여주고, 내용이 바뀌지 않았으면 조건부 요청에 304 로 응답한다.
+     * 같은 URL 이 로그인 여부에 따라 다르게 응답하므로 공유 캐시는 쿠키별로 구분해서 저장하도록 Vary: Cookie 를 보낸다.
+     * @param account
+     * @param model
+     * @param webRequest
+     * @param response
+     * @return
+     */
     @GetMapping("/")
-    public String home(@CurrentUser Account account, Model model)
+    public String home(@CurrentUser Account account, Model model, WebRequest webRequest, HttpServletResponse response)
     {
         if (account != null)
         {
-            Account byNickname = accountRepository.findAccountWithTagsAndZonesById(account.getId());
-            List<Enrollment> enrollmentList = enrollmentRepository.findByAccountAndAcceptedAndAttendedFalse(byNickname, true);
-            List<Study> studyList = studyRepository.findByAccount(byNickname.getTags(), byNickname.getZones());
-
-            Set<Account> accountSet = new HashSet<>();
-            accountSet.add(byNickname);
-
-            List<Study> studyManagerOf = studyRepository.findFirst5ByManagersContainingAndClosedOrderByPublishedDateTimeDesc(byNickname, false);
-            List<Study> studyMemberOf = studyRepository.findFirst5ByMembersContainingAndClosedOrderByPublishedDateTimeDesc(byNickname, false);
-
-            model.addAttribute("account", byNickname);
-            model.addAttribute("enrollmentList", enrollmentList);
-            model.addAttribute("studyList", studyList);
-            model.addAttribute("studyManagerOf", studyManagerOf);
-            model.addAttribute("studyMemberOf", studyMemberOf);
+            homePageService.addSections(account, model);
             return "index-after-login";
         }
         else
         {
-            List<Study> studyList = studyRepository.findTop9ByPublishedTrueAndClosedFalseOrderByPublishedDateTimeDesc();
-            model.addAttribute("studyList", studyList);
+            AnonymousHomeCache.Snapshot snapshot = anonymousHomeCache.get();
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePublic().getHeaderValue());
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.COOKIE);
+            if (webRequest.checkNotModified(snapshot.getEtag(), snapshot.getLastModified()))
+            {
+                return null;
+            }
+
+            model.addAttribute("studyList", snapshot.getStudies());
             return "index";
         }
     }
@@ -135,15 +152,74 @@ public class MainController
         return "logged-in-by-email";
     }
 
+    /**
+     * 스터디 검색 요청 메서드
+     * 페이징 방식이 cursor 이면 cursor 파라미터를 기준으로 키셋 페이징한다.
+     * 정렬 기준이 relevance 이면 연관도 순으로 검색한다.
+     * tag, zone 파라미터가 있으면 검색어 결과를 해당 태그, 지역의 스터디로 좁힌다.
+     * @param keyword
+     * @param tag
+     * @param zone
+     * @param cursor
+     * @param model
+     * @param pageable
+     * @return
+     */
     @GetMapping("/search/study")
     public String searchStudy (String keyword,
+                               String tag,
+                               String zone,
+                               String cursor,
                                Model model,
                                @PageableDefault(size = 9, sort = "publishedDateTime", direction = Sort.Direction.DESC) Pageable pageable)
     {
-        Page<Study> studyPage = studyRepository.findByKeyword(keyword, pageable);
-        model.addAttribute("studyPage", studyPage);
+        String sortProperty = getSortProperty(pageable);
+        StudySearchFilter filter = StudySearchFilter.of(tag, zone);
+
+        if (RELEVANCE.equals(sortProperty))
+        {
+            Page<Study> studyPage = studyRepository.findByKeywordOrderByRelevance(keyword, filter, pageable);
+            model.addAttribute("studyPage", studyPage);
+        }
+        else if (studySearchProperties.getPaging() == StudySearchProperties.Paging.CURSOR)
+        {
+            StudyCursorPage studyCursorPage = studyRepository.findByKeywordWithCursor(keyword, filter, sortProperty, StudyCursor.decode(cursor), pageable.getPageSize());
+            model.addAttribute("studyCursorPage", studyCursorPage);
+        }
+        else
+        {
+            Page<Study> studyPage = studyRepository.findByKeyword(keyword, filter, pageable);
+            model.addAttribute("studyPage", studyPage);
+        }
+
+        model.addAttribute("facets", studyRepository.findFacetsByKeyword(keyword, filter, 10));
         model.addAttribute("keyword", keyword);
-        model.addAttribute("sortProperty", pageable.getSort().toString().contains("publishedDateTime")? "publishedDateTime" : "memberCount");
+        model.addAttribute("filter", filter);
+        model.addAttribute("sortProperty", sortProperty);
         return "search";
     }
+
+    /**
+     * 스터디 이름 자동완성 요청 메서드
+     * DB 를 거치지 않고 메모리의 트라이에서 접두어로 조회한다.
+     * @param prefix
+     * @param size
+     * @return
+     */
+    @GetMapping("/search/study/autocomplete")
+    @ResponseBody
+    public List<StudySuggestion> autocompleteStudy(String prefix, @RequestParam(defaultValue = "5") int size)
+    {
+        return studyTitleTrie.suggest(prefix, Math.min(size, MAX_SUGGESTION_SIZE));
+    }
+
+    private String getSortProperty(Pageable pageable)
+    {
+        String sort = pageable.getSort().toString();
+        if (sort.contains(RELEVANCE))
+        {
+            return RELEVANCE;
+        }
+        return sort.contains("publishedDateTime")? "publishedDateTime" : "memberCount";
+    }
 }
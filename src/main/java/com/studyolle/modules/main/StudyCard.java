@@ -0,0 +1,69 @@
+package com.studyolle.modules.main;
+
+import com.studyolle.modules.study.Study;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * <h1>메인 페이지 스터디 카드 클래스</h1>
+ *
+ * fragments.html 의 study-list 가 사용하는 값만 복사한 불변 객체로, 영속성 컨텍스트 없이 여러 요청에서 공유한다.
+ *
+ * @see AnonymousHomeCache
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyCard
+{
+    private final String path;
+    private final String title;
+    private final String shortDescription;
+    private final String image;
+    private final List<TagCard> tags;
+    private final List<ZoneCard> zones;
+    private final int memberCount;
+    private final LocalDateTime publishedDateTime;
+
+    public static StudyCard from(Study study)
+    {
+        return new StudyCard(study.getPath(),
+                            study.getTitle(),
+                            study.getShortDescription(),
+                            study.getImage(),
+                            study.getTags().stream().map(tag -> new TagCard(tag.getTitle())).collect(Collectors.toUnmodifiableList()),
+                            study.getZones().stream().map(zone -> new ZoneCard(zone.getId(), zone.getLocalNameOfCity())).collect(Collectors.toUnmodifiableList()),
+                            study.getMemberCount(),
+                            study.getPublishedDateTime());
+    }
+
+    /**
+     * ETag 계산용 문자열
+     * @return
+     */
+    String fingerprint()
+    {
+        return String.join("\u0000", path, title, String.valueOf(shortDescription), String.valueOf(image),
+                            tags.stream().map(TagCard::getTitle).collect(Collectors.joining(",")),
+                            zones.stream().map(zone -> String.valueOf(zone.getId())).collect(Collectors.joining(",")),
+                            String.valueOf(memberCount), String.valueOf(publishedDateTime));
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class TagCard
+    {
+        private final String title;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class ZoneCard
+    {
+        private final Long id;
+        private final String localNameOfCity;
+    }
+}
@@ -6,7 +6,17 @@ import lombok.*;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+/**
+ * <h1>알림 엔티티</h1>
+ *
+ * 오래된 알림은 {@link NotificationRetentionJob} 이 {@link NotificationArchive} 로 옮기므로 이 테이블에는 최근 알림만 남는다.
+ */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_notification_account_checked_created", columnList = "account_id, checked, created_date_time"),
+        @Index(name = "idx_notification_account_checked_id", columnList = "account_id, checked, id"),
+        @Index(name = "idx_notification_created", columnList = "created_date_time")
+})
 @Getter @Setter
 @EqualsAndHashCode(of = "id")
 @Builder @AllArgsConstructor @NoArgsConstructor
@@ -0,0 +1,48 @@
+package com.studyolle.modules.notification;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * <h1>보관 알림 엔티티</h1>
+ *
+ * 보관 기간이 지나 {@link Notification} 테이블에서 옮겨진 알림이다. 화면에서는 조회하지 않고,
+ * 사용자 삭제와 무관하게 남아있도록 계정은 연관관계 대신 아이디로만 가진다.
+ *
+ * @see NotificationRetentionJob
+ */
+@Entity
+@Table(name = "notification_archive", indexes = {
+        @Index(name = "idx_notification_archive_account", columnList = "account_id"),
+        @Index(name = "idx_notification_archive_archived", columnList = "archived_date_time")
+})
+@Getter
+@EqualsAndHashCode(of = "id")
+@NoArgsConstructor
+public class NotificationArchive
+{
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String link;
+
+    private String message;
+
+    private boolean checked;
+
+    @Column(name = "account_id")
+    private Long accountId;
+
+    private LocalDateTime createdDateTime;
+
+    @Enumerated(EnumType.STRING)
+    private NotificationType notificationType;
+
+    private LocalDateTime archivedDateTime;
+}
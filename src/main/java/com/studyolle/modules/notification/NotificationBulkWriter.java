@@ -0,0 +1,133 @@
+package com.studyolle.modules.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>알림 일괄 저장 클래스</h1>
+ *
+ * 여러 사용자에게 같은 알림을 저장할 때 엔티티를 한 건씩 save 하지 않고 JDBC batch insert 로 {@value #CHUNK_SIZE} 건씩 저장한다.<br>
+ * 아이디는 hibernate_sequence 에서 묶음 단위로 한 번에 받아오고(generate_series), 트랜잭션 밖에서 호출하면 묶음마다 따로 커밋하므로
+ * 수신자가 많아도 트랜잭션이 길어지지 않고, 커밋 후 처리도 묶음마다 실행되고 해제된다.
+ * 그래서 스터디 개설 알림처럼 수신자가 많은 호출자는 트랜잭션 밖에서 호출한다. 트랜잭션 안에서 호출하면 호출한 트랜잭션에 참여한다.<br>
+ * 저장된 알림 수는 커밋된 뒤 {@link UnreadNotificationCounter} 에 반영하고 {@link NotificationStreamBroker} 로 발행한다.
+ *
+ * <pre>
+ * notification.bulk.rows  : 저장한 알림 수
+ * notification.bulk.chunk : 묶음 하나를 저장하는 시간
+ * </pre>
+ */
+@Component
+@Slf4j
+public class NotificationBulkWriter
+{
+    static final int CHUNK_SIZE = 500;
+
+    private static final String NEXT_IDS = "select nextval('hibernate_sequence') from generate_series(1, ?)";
+
+    private static final String INSERT = "insert into notification (id, title, link, message, checked, account_id, created_date_time, notification_type) "
+                                        + "values (?, ?, ?, ?, false, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationStreamBroker notificationStreamBroker;
+
+    private final Counter rows;
+    private final Timer chunkTimer;
+
+    public NotificationBulkWriter(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  UnreadNotificationCounter unreadNotificationCounter,
+                                  NotificationStreamBroker notificationStreamBroker,
+                                  MeterRegistry meterRegistry)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.notificationStreamBroker = notificationStreamBroker;
+
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+
+        this.rows = Counter.builder("notification.bulk.rows").register(meterRegistry);
+        this.chunkTimer = Timer.builder("notification.bulk.chunk").register(meterRegistry);
+    }
+
+    /**
+     * 수신자마다 같은 내용의 알림을 저장한다.
+     * @param template 제목, 링크, 메시지, 종류, 생성 시각 (account 는 사용하지 않는다)
+     * @param accountIds 수신자 아이디
+     * @return 저장한 알림 수
+     */
+    public long write(Notification template, Iterable<Long> accountIds)
+    {
+        long start = System.nanoTime();
+        long written = 0;
+
+        LocalDateTime createdDateTime = template.getCreatedDateTime() != null ? template.getCreatedDateTime() : LocalDateTime.now();
+        Iterator<Long> iterator = accountIds.iterator();
+        List<Long> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (iterator.hasNext())
+        {
+            chunk.add(iterator.next());
+            if (chunk.size() == CHUNK_SIZE || !iterator.hasNext())
+            {
+                written += writeChunk(template, createdDateTime, chunk);
+                chunk.clear();
+            }
+        }
+
+        if (written > 0)
+        {
+            long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            log.info("{} notifications written in {} ms ({} rows/s)", written, elapsedMillis, written * 1000 / elapsedMillis);
+        }
+        return written;
+    }
+
+    private int writeChunk(Notification template, LocalDateTime createdDateTime, List<Long> accountIds)
+    {
+        Integer written = chunkTimer.record(() -> chunkTransaction.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS, Long.class, accountIds.size());
+
+            List<Object[]> args = new ArrayList<>(accountIds.size());
+            for (int i = 0; i < accountIds.size(); i++)
+            {
+                args.add(new Object[] {
+                        ids.get(i),
+                        template.getTitle(),
+                        template.getLink(),
+                        template.getMessage(),
+                        accountIds.get(i),
+                        Timestamp.valueOf(createdDateTime),
+                        template.getNotificationType().name()
+                });
+            }
+            jdbcTemplate.batchUpdate(INSERT, args);
+
+            accountIds.forEach(accountId -> {
+                unreadNotificationCounter.evict(accountId);
+                notificationStreamBroker.publish(accountId, template);
+            });
+            return accountIds.size();
+        }));
+
+        int count = written == null ? 0 : written;
+        rows.increment(count);
+        return count;
+    }
+}
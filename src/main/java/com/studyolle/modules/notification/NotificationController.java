@@ -3,13 +3,20 @@ package com.studyolle.modules.notification;
 import com.studyolle.modules.account.Account;
 import com.studyolle.modules.account.CurrentUser;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <h1>알림 컨트롤러</h1>
@@ -18,47 +25,69 @@ import java.util.List;
 @RequiredArgsConstructor
 public class NotificationController
 {
+    private static final int PAGE_SIZE = 20;
+
     private final NotificationRepository notificationRepository;
     private final NotificationService notificationService;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationStreamBroker notificationStreamBroker;
 
     /**
      * 읽지 않은 알림 요청 메서드
+     * 한 번에 {@value #PAGE_SIZE} 건씩 보여주고, 보여준 알림만 읽음 처리한다.
      * @param account
+     * @param before 이 아이디보다 이전 알림부터 조회 (더 보기)
      * @param model
      * @return
      */
     @GetMapping("/notifications")
-    public String getNotifications (@CurrentUser Account account, Model model)
+    public String getNotifications (@CurrentUser Account account, Long before, Model model)
     {
-        List<Notification> notifications = notificationRepository.findByAccountAndCheckedOrderByCreatedDateTimeDesc(account, false);
+        Slice<Notification> notifications = findNotifications(account, false, before);
+        Map<NotificationType, Long> typeCounts = countByNotificationType(account, false);
         long numberOfChecked = notificationRepository.countByAccountAndChecked(account, true);
 
-        putCategorizedNotifications(model, notifications, numberOfChecked, notifications.size());
+        putCategorizedNotifications(model, notifications, typeCounts, numberOfChecked, sum(typeCounts));
 
         model.addAttribute("isNew", true);
 
-        notificationService.markAsRead(notifications);
+        notificationService.markAsRead(account, notifications.getContent());
         return "notification/list";
     }
 
     /**
      * 읽은 알림 요청 메서드
      * @param account
+     * @param before 이 아이디보다 이전 알림부터 조회 (더 보기)
      * @param model
      * @return
      */
     @GetMapping("/notifications/old")
-    public String getOldNotifications (@CurrentUser Account account, Model model)
+    public String getOldNotifications (@CurrentUser Account account, Long before, Model model)
     {
-        List<Notification> notifications = notificationRepository.findByAccountAndCheckedOrderByCreatedDateTimeDesc(account, true);
-        long numberOfNotChecked = notificationRepository.countByAccountAndChecked(account, false);
+        Slice<Notification> notifications = findNotifications(account, true, before);
+        Map<NotificationType, Long> typeCounts = countByNotificationType(account, true);
+        long numberOfNotChecked = unreadNotificationCounter.get(account);
 
-        putCategorizedNotifications(model, notifications, notifications.size(), numberOfNotChecked);
+        putCategorizedNotifications(model, notifications, typeCounts, sum(typeCounts), numberOfNotChecked);
 
         model.addAttribute("isNew", false);
         return "notification/list";
     }
 
+    /**
+     * 실시간 알림 구독 메서드
+     * 새 알림과 읽지 않은 알림 수를 Server-Sent Events 로 보낸다.
+     * @param account
+     * @return
+     */
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter stream(@CurrentUser Account account)
+    {
+        return notificationStreamBroker.subscribe(account.getId(), unreadNotificationCounter.get(account));
+    }
+
     @DeleteMapping("/notifications")
     public String deleteNotifications(@CurrentUser Account account)
     {
@@ -66,7 +95,36 @@ public class NotificationController
         return "redirect:/notifications";
     }
 
-    private void putCategorizedNotifications(Model model, List<Notification> notifications, long numberOfChecked, long numberOfNotChecked)
+    private Slice<Notification> findNotifications(Account account, boolean checked, Long before)
+    {
+        PageRequest page = PageRequest.of(0, PAGE_SIZE);
+        return before == null
+                ? notificationRepository.findByAccountAndCheckedOrderByIdDesc(account, checked, page)
+                : notificationRepository.findByAccountAndCheckedAndIdLessThanOrderByIdDesc(account, checked, before, page);
+    }
+
+    private Map<NotificationType, Long> countByNotificationType(Account account, boolean checked)
+    {
+        Map<NotificationType, Long> typeCounts = new EnumMap<>(NotificationType.class);
+        for (NotificationType type : NotificationType.values())
+        {
+            typeCounts.put(type, 0L);
+        }
+        notificationRepository.countByNotificationType(account, checked)
+                                .forEach(count -> typeCounts.put(count.getNotificationType(), count.getCount()));
+        return typeCounts;
+    }
+
+    private long sum(Map<NotificationType, Long> typeCounts)
+    {
+        return typeCounts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * 현재 페이지의 알림만 종류별로 나누고, 종류별 전체 개수는 DB 에서 집계한 값을 사용한다.
+     */
+    private void putCategorizedNotifications(Model model, Slice<Notification> notifications, Map<NotificationType, Long> typeCounts,
+                                             long numberOfChecked, long numberOfNotChecked)
     {
         List<Notification> newStudyNotifications = new ArrayList<>();
         List<Notification> eventEnrollmentNotifications = new ArrayList<>();
@@ -83,10 +141,18 @@ public class NotificationController
 
         model.addAttribute("numberOfNotChecked", numberOfNotChecked);
         model.addAttribute("numberOfChecked", numberOfChecked);
-        model.addAttribute("notifications", notifications);
+        model.addAttribute("numberOfNewStudy", typeCounts.get(NotificationType.STUDY_CREATED));
+        model.addAttribute("numberOfEventEnrollment", typeCounts.get(NotificationType.EVENT_ENROLLMENT));
+        model.addAttribute("numberOfWatchingStudy", typeCounts.get(NotificationType.STUDY_UPDATED));
+        model.addAttribute("notifications", notifications.getContent());
         model.addAttribute("newStudyNotifications", newStudyNotifications);
         model.addAttribute("eventEnrollmentNotifications", eventEnrollmentNotifications);
         model.addAttribute("watchingStudyNotifications", watchingStudyNotifications);
-    }
 
+        if (notifications.hasNext())
+        {
+            List<Notification> content = notifications.getContent();
+            model.addAttribute("nextBefore", content.get(content.size() - 1).getId());
+        }
+    }
 }
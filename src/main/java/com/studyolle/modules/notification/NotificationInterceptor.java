@@ -17,7 +17,7 @@ import javax.servlet.http.HttpServletResponse;
 @RequiredArgsConstructor
 public class NotificationInterceptor implements HandlerInterceptor
 {
-    private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
 
     @Override
     public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception
@@ -29,8 +29,7 @@ public class NotificationInterceptor implements HandlerInterceptor
         {
             Account account = ((UserAccount) authentication.getPrincipal()).getAccount();
 
-            int count = notificationRepository.countByAccountAndChecked(account, false);
-            modelAndView.addObject("hasNotification", count > 0);
+            modelAndView.addObject("hasNotification", unreadNotificationCounter.get(account) > 0);
         }
     }
 
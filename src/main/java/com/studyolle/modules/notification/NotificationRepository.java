@@ -1,7 +1,12 @@
 package com.studyolle.modules.notification;
 
 import com.studyolle.modules.account.Account;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -11,9 +16,32 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 {
     int countByAccountAndChecked(Account account, boolean b);
 
-    @Transactional
-    List<Notification> findByAccountAndCheckedOrderByCreatedDateTimeDesc(Account account, boolean checked);
+    /**
+     * 최근 알림 첫 페이지 (아이디 역순)
+     */
+    Slice<Notification> findByAccountAndCheckedOrderByIdDesc(Account account, boolean checked, Pageable pageable);
+
+    /**
+     * before 보다 이전 알림 페이지 (아이디 기준 키셋 페이징)
+     */
+    Slice<Notification> findByAccountAndCheckedAndIdLessThanOrderByIdDesc(Account account, boolean checked, Long before, Pageable pageable);
+
+    @Query("select new com.studyolle.modules.notification.NotificationTypeCount(n.notificationType, count(n)) "
+            + "from Notification n where n.account = :account and n.checked = :checked group by n.notificationType")
+    List<NotificationTypeCount> countByNotificationType(@Param("account") Account account, @Param("checked") boolean checked);
 
     @Transactional
     void deleteByAccountAndChecked(Account account, boolean checked);
+
+    /**
+     * 사용자의 읽지 않은 알림 중 아이디가 minId 이상 maxId 이하인 알림을 한 번의 UPDATE 로 읽음 처리한다.
+     * @param account
+     * @param minId 사용자에게 보여준 알림 중 가장 작은 아이디
+     * @param maxId 사용자에게 보여준 알림 중 가장 큰 아이디
+     * @return 읽음 처리된 알림 수
+     */
+    @Transactional
+    @Modifying
+    @Query("update Notification n set n.checked = true where n.account = :account and n.checked = false and n.id between :minId and :maxId")
+    int markAsReadBetween(@Param("account") Account account, @Param("minId") Long minId, @Param("maxId") Long maxId);
 }
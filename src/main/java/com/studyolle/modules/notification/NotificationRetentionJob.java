@@ -0,0 +1,101 @@
+package com.studyolle.modules.notification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * <h1>알림 보관 작업 클래스</h1>
+ *
+ * 매일 {@link NotificationRetentionProperties#getMaxAge()} 보다 오래된 알림을 notification_archive 로 옮기거나 삭제해서,
+ * 읽지 않은 알림 수와 목록 조회가 최근 알림만 읽도록 한다.<br>
+ * {@link NotificationRetentionProperties#getBatchSize()} 건씩 별도 트랜잭션으로 처리하고,
+ * FOR UPDATE SKIP LOCKED 로 대상을 고르므로 여러 인스턴스에서 동시에 실행되어도 같은 행을 두 번 처리하지 않는다.<br>
+ * 정리한 알림이 있으면 {@link UnreadNotificationCounter} 의 카운터를 모두 제거해 다음 조회 때 다시 세도록 한다.
+ *
+ * <pre>
+ * notification.retention.rows : 정리한 알림 수 (mode 태그)
+ * </pre>
+ */
+@Component
+@Slf4j
+public class NotificationRetentionJob
+{
+    private static final String TARGETS = "select id from notification where created_date_time < ? order by id limit ? for update skip locked";
+
+    private static final String ARCHIVE = "with moved as (delete from notification where id in (" + TARGETS + ") "
+                                            + "returning id, title, link, message, checked, account_id, created_date_time, notification_type) "
+                                        + "insert into notification_archive (id, title, link, message, checked, account_id, created_date_time, notification_type, archived_date_time) "
+                                        + "select id, title, link, message, checked, account_id, created_date_time, notification_type, now() from moved";
+
+    private static final String DELETE = "delete from notification where id in (" + TARGETS + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final NotificationRetentionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+
+    public NotificationRetentionJob(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    NotificationRetentionProperties properties,
+                                    MeterRegistry meterRegistry,
+                                    UnreadNotificationCounter unreadNotificationCounter)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(cron = "${app.notification.retention.cron:0 30 4 * * *}")
+    public void run()
+    {
+        if (properties.isEnabled())
+        {
+            purge(LocalDateTime.now().minus(properties.getMaxAge()));
+        }
+    }
+
+    /**
+     * 기준 시각 이전에 생성된 알림 정리 메서드
+     * @param before
+     * @return 정리한 알림 수
+     */
+    public long purge(LocalDateTime before)
+    {
+        NotificationRetentionProperties.Mode mode = properties.getMode();
+        String sql = mode == NotificationRetentionProperties.Mode.ARCHIVE ? ARCHIVE : DELETE;
+        Timestamp threshold = Timestamp.valueOf(before);
+
+        long total = 0;
+        int batch;
+        do
+        {
+            Integer processed = batchTransaction.execute(status -> jdbcTemplate.update(sql, threshold, properties.getBatchSize()));
+            batch = processed == null ? 0 : processed;
+            total += batch;
+        }
+        while (batch >= properties.getBatchSize());
+
+        if (total > 0)
+        {
+            unreadNotificationCounter.evictAll();
+        }
+
+        meterRegistry.counter("notification.retention.rows", "mode", mode.name().toLowerCase()).increment(total);
+        log.info("{} notifications older than {} purged ({})", total, before, mode);
+        return total;
+    }
+}
@@ -0,0 +1,45 @@
+package com.studyolle.modules.notification;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * <h1>알림 보관 설정 클래스</h1>
+ *
+ * app.notification.retention.* 로 오래된 알림을 정리하는 주기와 기준을 설정한다.
+ */
+@Data
+@Component
+@ConfigurationProperties("app.notification.retention")
+public class NotificationRetentionProperties
+{
+    private boolean enabled = true;
+
+    /**
+     * 이 기간보다 오래된 알림을 정리한다.
+     */
+    private Duration maxAge = Duration.ofDays(30);
+
+    /**
+     * 한 트랜잭션에서 정리하는 알림 수
+     */
+    private int batchSize = 1000;
+
+    private Mode mode = Mode.ARCHIVE;
+
+    public enum Mode
+    {
+        /**
+         * notification_archive 테이블로 옮긴다.
+         */
+        ARCHIVE,
+
+        /**
+         * 삭제한다.
+         */
+        DELETE
+    }
+}
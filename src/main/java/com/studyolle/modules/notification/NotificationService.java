@@ -1,5 +1,6 @@
 package com.studyolle.modules.notification;
 
+import com.studyolle.modules.account.Account;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,18 +16,30 @@ import java.util.List;
 public class NotificationService
 {
     private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationStreamBroker notificationStreamBroker;
 
     /**
      * 알림 읽음 처리
-     * @param notifications
+     * 보여준 알림의 아이디 범위만 한 번의 UPDATE 로 읽음 처리하므로, 목록을 조회한 뒤에 새로 저장된 알림과
+     * 아직 보여주지 않은 이전 페이지의 알림은 읽지 않은 상태로 남는다.
+     * @param account
+     * @param notifications 사용자에게 보여준 읽지 않은 알림 (아이디 역순으로 연속된 한 페이지)
      */
-    public void markAsRead(List<Notification> notifications)
+    public void markAsRead(Account account, List<Notification> notifications)
     {
-        for (Notification notification : notifications)
+        if (notifications.isEmpty())
         {
-            notification.setChecked(true);
+            return;
         }
 
-        notificationRepository.saveAll(notifications);
+        long minId = notifications.stream().mapToLong(Notification::getId).min().getAsLong();
+        long maxId = notifications.stream().mapToLong(Notification::getId).max().getAsLong();
+        int updated = notificationRepository.markAsReadBetween(account, minId, maxId);
+        if (updated > 0)
+        {
+            unreadNotificationCounter.evict(account.getId());
+            notificationStreamBroker.publishUnreadCount(account);
+        }
     }
 }
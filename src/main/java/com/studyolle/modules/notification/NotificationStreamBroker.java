@@ -0,0 +1,270 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.modules.account.Account;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <h1>실시간 알림 브로커 클래스</h1>
+ *
+ * 사용자 아이디별로 연결된 SSE 구독을 보관하고, 새 알림과 읽지 않은 알림 수를 구독자에게 보낸다.<br>
+ * 연결은 서블릿 비동기 요청으로 유지되므로 대기 중인 연결은 스레드를 점유하지 않는다.
+ * 발행은 구독마다 크기가 {@value #BUFFER_SIZE} 인 큐에 넣기만 하고, 실제 전송은 {@link TaskScheduler} 스레드가 구독 단위로 처리한다.
+ * 느린 연결의 큐가 차면 가장 오래된 메시지를 버리며, 브라우저는 다음 메시지의 읽지 않은 알림 수로 다시 맞춰진다.<br>
+ * {@link #HEARTBEAT_INTERVAL} 마다 주석 이벤트를 보내 프록시가 유휴 연결을 끊지 않게 하고, 끊어진 연결을 정리한다.
+ *
+ * <pre>
+ * notification.stream.connections : 연결된 구독 수
+ * notification.stream.dropped     : 큐가 차서 버린 메시지 수
+ * </pre>
+ *
+ * @see NotificationController#stream
+ */
+@Component
+@Slf4j
+public class NotificationStreamBroker
+{
+    static final int BUFFER_SIZE = 16;
+
+    static final int MAX_CONNECTIONS_PER_ACCOUNT = 5;
+
+    static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(25);
+
+    private final TaskScheduler scheduler;
+
+    private final UnreadNotificationCounter unreadNotificationCounter;
+
+    private final ConcurrentMap<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final Counter dropped;
+
+    public NotificationStreamBroker(@Qualifier("notificationStreamScheduler") TaskScheduler notificationStreamScheduler,
+                                    UnreadNotificationCounter unreadNotificationCounter,
+                                    MeterRegistry meterRegistry)
+    {
+        this.scheduler = notificationStreamScheduler;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        meterRegistry.gauge("notification.stream.connections", connections);
+        this.dropped = Counter.builder("notification.stream.dropped").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void startHeartbeat()
+    {
+        scheduler.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_INTERVAL);
+    }
+
+    /**
+     * 구독 메서드
+     * 사용자별 최대 연결 수를 넘으면 가장 먼저 연결된 구독을 닫는다.
+     * @param accountId
+     * @param unreadCount 연결 직후 보낼 읽지 않은 알림 수
+     * @return
+     */
+    public SseEmitter subscribe(Long accountId, int unreadCount)
+    {
+        SseEmitter emitter = new SseEmitter(TIMEOUT.toMillis());
+        Subscription subscription = new Subscription(accountId, emitter);
+
+        Set<Subscription> accountSubscriptions = subscriptions.computeIfAbsent(accountId, id -> new CopyOnWriteArraySet<>());
+        accountSubscriptions.add(subscription);
+        connections.incrementAndGet();
+
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(e -> unsubscribe(subscription));
+
+        // 닫힌 연결의 완료 콜백은 컨테이너가 비동기 요청을 끝낼 때 호출되므로, 기다리지 않고 바로 구독을 해제한다.
+        while (accountSubscriptions.size() > MAX_CONNECTIONS_PER_ACCOUNT)
+        {
+            Subscription oldest = accountSubscriptions.iterator().next();
+            unsubscribe(oldest);
+            oldest.emitter.complete();
+        }
+
+        subscription.enqueue(unreadCountEvent(unreadCount));
+        return emitter;
+    }
+
+    /**
+     * 새 알림 발행 메서드. 트랜잭션 안이면 커밋된 뒤에 보낸다.
+     * @param accountId
+     * @param notification
+     */
+    public void publish(Long accountId, Notification notification)
+    {
+        afterCommit(() -> {
+            Set<Subscription> accountSubscriptions = subscriptions.get(accountId);
+            if (accountSubscriptions == null || accountSubscriptions.isEmpty())
+            {
+                return;
+            }
+
+            NotificationStreamMessage message = NotificationStreamMessage.of(notification, unreadNotificationCounter.peek(accountId));
+            accountSubscriptions.forEach(subscription -> subscription.enqueue(SseEmitter.event()
+                                                                                        .name("notification")
+                                                                                        .data(message, MediaType.APPLICATION_JSON)));
+        });
+    }
+
+    /**
+     * 읽지 않은 알림 수 발행 메서드. 알림을 읽음 처리했을 때 다른 탭의 알림 아이콘을 갱신한다.
+     * 트랜잭션 안이면 커밋된 뒤, 구독이 있을 때만 카운터에서 다시 센 값을 보낸다.
+     * @param account
+     */
+    public void publishUnreadCount(Account account)
+    {
+        afterCommit(() -> {
+            Set<Subscription> accountSubscriptions = subscriptions.get(account.getId());
+            if (accountSubscriptions != null && !accountSubscriptions.isEmpty())
+            {
+                int unreadCount = unreadNotificationCounter.get(account);
+                accountSubscriptions.forEach(subscription -> subscription.enqueue(unreadCountEvent(unreadCount)));
+            }
+        });
+    }
+
+    /**
+     * 사용자의 연결된 구독 수
+     * @param accountId
+     * @return
+     */
+    int connectionCount(Long accountId)
+    {
+        Set<Subscription> accountSubscriptions = subscriptions.get(accountId);
+        return accountSubscriptions == null ? 0 : accountSubscriptions.size();
+    }
+
+    private void heartbeat()
+    {
+        subscriptions.values().forEach(accountSubscriptions -> accountSubscriptions.forEach(
+                subscription -> subscription.enqueue(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private void unsubscribe(Subscription subscription)
+    {
+        Set<Subscription> accountSubscriptions = subscriptions.get(subscription.accountId);
+        if (accountSubscriptions != null && accountSubscriptions.remove(subscription))
+        {
+            connections.decrementAndGet();
+            subscriptions.computeIfPresent(subscription.accountId, (id, set) -> set.isEmpty() ? null : set);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder unreadCountEvent(int unreadCount)
+    {
+        return SseEmitter.event().name("unread-count").data(unreadCount);
+    }
+
+    private void afterCommit(Runnable action)
+    {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+            {
+                @Override
+                public void afterCommit()
+                {
+                    action.run();
+                }
+            });
+        }
+        else
+        {
+            action.run();
+        }
+    }
+
+    /**
+     * 연결 하나의 전송 큐. 전송은 한 번에 하나의 스레드만 수행한다.
+     */
+    private class Subscription
+    {
+        private final Long accountId;
+
+        private final SseEmitter emitter;
+
+        private final Queue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscription(Long accountId, SseEmitter emitter)
+        {
+            this.accountId = accountId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event)
+        {
+            while (!buffer.offer(event))
+            {
+                if (buffer.poll() != null)
+                {
+                    dropped.increment();
+                }
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain()
+        {
+            if (draining.compareAndSet(false, true))
+            {
+                scheduler.schedule(this::drain, Instant.now());
+            }
+        }
+
+        private void drain()
+        {
+            try
+            {
+                SseEmitter.SseEventBuilder event;
+                while ((event = buffer.poll()) != null)
+                {
+                    emitter.send(event);
+                }
+            }
+            catch (IOException | IllegalStateException e)
+            {
+                log.debug("notification stream closed : account {}", accountId);
+                buffer.clear();
+                unsubscribe(this);
+                emitter.completeWithError(e);
+            }
+            finally
+            {
+                draining.set(false);
+            }
+
+            if (!buffer.isEmpty())
+            {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.studyolle.modules.notification;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * <h1>실시간 알림 메시지 클래스</h1>
+ *
+ * SSE 로 브라우저에 보내는 새 알림 정보이다.
+ * 읽지 않은 알림 수는 서버가 알고 있는 경우에만 채우고, 모르면 null 이다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class NotificationStreamMessage
+{
+    private final String title;
+
+    private final String link;
+
+    private final String message;
+
+    private final NotificationType notificationType;
+
+    private final LocalDateTime createdDateTime;
+
+    private final Integer unreadCount;
+
+    public static NotificationStreamMessage of(Notification notification, Integer unreadCount)
+    {
+        return new NotificationStreamMessage(notification.getTitle(), notification.getLink(), notification.getMessage(),
+                                                notification.getNotificationType(), notification.getCreatedDateTime(), unreadCount);
+    }
+}
@@ -0,0 +1,17 @@
+package com.studyolle.modules.notification;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h1>알림 종류별 개수 클래스</h1>
+ *
+ * @see NotificationRepository#countByNotificationType
+ */
+@Getter
+@RequiredArgsConstructor
+public class NotificationTypeCount
+{
+    private final NotificationType notificationType;
+    private final long count;
+}
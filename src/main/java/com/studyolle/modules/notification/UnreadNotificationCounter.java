@@ -0,0 +1,167 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.modules.account.Account;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <h1>읽지 않은 알림 수 카운터 클래스</h1>
+ *
+ * 사용자별 읽지 않은 알림 수를 메모리에 보관해 {@link NotificationInterceptor} 가 요청마다 count 쿼리를 실행하지 않도록 한다.<br>
+ * DB 가 원본이고, 카운터가 없는 사용자만 DB 에서 센다. 알림 저장/읽음 처리가 없으면 다시 세지 않는다.<br>
+ * 알림 저장/읽음 처리는 DB 에 먼저 반영하고 커밋된 뒤에 카운터를 제거하므로, 다음 조회 때 커밋된 값을 다시 센다.
+ * DB 에서 세는 동안에는 자리표시 항목을 두고, 세는 사이에 카운터가 제거되었으면 센 값을 보관하지 않으므로
+ * 커밋된 알림을 빠뜨린 값이 남지 않는다.<br>
+ * {@link #IDLE} 동안 조회되지 않은 카운터는 제거하므로 메모리에는 최근에 페이지를 조회한 사용자의 카운터만 남고,
+ * 다른 인스턴스에서 저장된 알림은 읽음 처리하거나 카운터가 제거된 뒤에 반영된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UnreadNotificationCounter
+{
+    static final Duration IDLE = Duration.ofMinutes(30);
+
+    private final NotificationRepository notificationRepository;
+
+    private final ConcurrentMap<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 읽지 않은 알림 수
+     * @param account
+     * @return
+     */
+    public int get(Account account)
+    {
+        Counter counter = counters.get(account.getId());
+        if (counter != null && counter.isLoaded())
+        {
+            return counter.read();
+        }
+
+        Counter loading = counters.computeIfAbsent(account.getId(), id -> Counter.loading());
+        if (loading.isLoaded())
+        {
+            return loading.read();
+        }
+
+        int count = notificationRepository.countByAccountAndChecked(account, false);
+        // 세는 동안 제거되지 않은 자리표시 항목만 센 값으로 바꾼다.
+        counters.computeIfPresent(account.getId(), (id, current) -> current == loading ? Counter.loaded(count) : current);
+        return count;
+    }
+
+    /**
+     * DB 를 조회하지 않고 메모리에 있는 읽지 않은 알림 수만 확인한다.
+     * @param accountId
+     * @return 카운터가 없거나 세는 중이면 null
+     */
+    public Integer peek(Long accountId)
+    {
+        Counter counter = counters.get(accountId);
+        return counter == null || !counter.isLoaded() ? null : counter.read();
+    }
+
+    /**
+     * 알림을 저장하거나 읽음 처리했을 때 호출한다. 트랜잭션 안이면 커밋된 뒤에 카운터를 제거한다.
+     * @param accountId
+     */
+    public void evict(Long accountId)
+    {
+        afterCommit(() -> counters.remove(accountId));
+    }
+
+    /**
+     * 전체 카운터 제거 메서드. 여러 사용자의 알림을 한 번에 정리했을 때 호출한다.
+     */
+    public void evictAll()
+    {
+        afterCommit(counters::clear);
+    }
+
+    /**
+     * {@link #IDLE} 동안 조회되지 않은 카운터 제거 메서드
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdle()
+    {
+        counters.values().removeIf(Counter::isIdle);
+    }
+
+    /**
+     * 메모리에 있는 카운터 수
+     * @return
+     */
+    int size()
+    {
+        return counters.size();
+    }
+
+    private void afterCommit(Runnable action)
+    {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+            {
+                @Override
+                public void afterCommit()
+                {
+                    action.run();
+                }
+            });
+        }
+        else
+        {
+            action.run();
+        }
+    }
+
+    /**
+     * 센 값은 바꾸지 않는다. 값이 바뀌면 항목을 제거하고 다시 센다.
+     */
+    private static class Counter
+    {
+        private static final int LOADING = -1;
+
+        private final int count;
+
+        private volatile long lastReadAt = System.nanoTime();
+
+        private Counter(int count)
+        {
+            this.count = count;
+        }
+
+        static Counter loading()
+        {
+            return new Counter(LOADING);
+        }
+
+        static Counter loaded(int count)
+        {
+            return new Counter(count);
+        }
+
+        boolean isLoaded()
+        {
+            return count != LOADING;
+        }
+
+        int read()
+        {
+            lastReadAt = System.nanoTime();
+            return count;
+        }
+
+        boolean isIdle()
+        {
+            return System.nanoTime() - lastReadAt > IDLE.toNanos();
+        }
+    }
+}
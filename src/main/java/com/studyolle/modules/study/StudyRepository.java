@@ -5,8 +5,10 @@ import com.studyolle.modules.tag.Tag;
 import com.studyolle.modules.zone.Zone;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -33,12 +35,21 @@ public interface StudyRepository extends JpaRepository<Study, Long>, StudyReposi
     @EntityGraph(value = "Study.withMembersAndManagers", type = EntityGraph.EntityGraphType.LOAD)
     Study findStudyWithMembersAndManagersByPath(String path);
 
+    @EntityGraph(value = "Study.withMembersAndManagers", type = EntityGraph.EntityGraphType.LOAD)
+    Study findStudyWithMembersAndManagersById(Long id);
+
     Study findStudyOnlyByPath(String path);
 
     @EntityGraph(value = "Study.withTagsAndZones", type = EntityGraph.EntityGraphType.LOAD)
     Study findStudyWithTagsAndZonesById(Long id);
 
-    @EntityGraph(attributePaths = {"members", "tags", "zones"}, type = EntityGraph.EntityGraphType.FETCH)
+    @EntityGraph(value = "Study.withTagsAndZones", type = EntityGraph.EntityGraphType.LOAD)
+    List<Study> findStudyWithTagsAndZonesByIdIn(Collection<Long> ids);
+
+    @Query("select s.id from Study s where s.published = true")
+    List<Long> findIdsByPublishedTrue();
+
+    @EntityGraph(attributePaths = {"tags", "zones"}, type = EntityGraph.EntityGraphType.FETCH)
     List<Study> findTop9ByPublishedTrueAndClosedFalseOrderByPublishedDateTimeDesc();
 
     List<Study> findFirst5ByManagersContainingAndClosedOrderByPublishedDateTimeDesc(Account account, boolean closed);
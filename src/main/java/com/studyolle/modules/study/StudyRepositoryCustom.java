@@ -1,5 +1,9 @@
 package com.studyolle.modules.study;
 
+import com.studyolle.modules.study.search.StudyCursor;
+import com.studyolle.modules.study.search.StudyCursorPage;
+import com.studyolle.modules.study.search.StudySearchFacets;
+import com.studyolle.modules.study.search.StudySearchFilter;
 import com.studyolle.modules.tag.Tag;
 import com.studyolle.modules.zone.Zone;
 import org.springframework.data.domain.Page;
@@ -14,5 +18,13 @@ public interface StudyRepositoryCustom
 {
     Page<Study> findByKeyword(String keyword, Pageable pageable);
 
+    Page<Study> findByKeyword(String keyword, StudySearchFilter filter, Pageable pageable);
+
+    Page<Study> findByKeywordOrderByRelevance(String keyword, StudySearchFilter filter, Pageable pageable);
+
+    StudySearchFacets findFacetsByKeyword(String keyword, StudySearchFilter filter, int limit);
+
+    StudyCursorPage findByKeywordWithCursor(String keyword, StudySearchFilter filter, String sortProperty, StudyCursor cursor, int size);
+
     List<Study> findByAccount(Set<Tag> tags, Set<Zone> zones);
 }
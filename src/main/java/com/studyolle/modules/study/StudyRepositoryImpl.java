@@ -1,50 +1,357 @@
 package com.studyolle.modules.study;
 
-import com.querydsl.core.QueryResults;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.JPQLQuery;
+import com.studyolle.modules.study.search.StudyCursor;
+import com.studyolle.modules.study.search.StudyCursorPage;
+import com.studyolle.modules.study.search.StudyDocument;
+import com.studyolle.modules.study.search.StudySearchCache;
+import com.studyolle.modules.study.search.StudySearchFacets;
+import com.studyolle.modules.study.search.StudySearchFilter;
+import com.studyolle.modules.study.search.StudySearchIndex;
+import com.studyolle.modules.study.search.StudySearchProperties;
 import com.studyolle.modules.tag.Tag;
 import com.studyolle.modules.zone.Zone;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+import org.springframework.data.repository.support.PageableExecutionUtils;
 
-import java.util.List;
-import java.util.Set;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
-import static com.studyolle.modules.account.QAccount.account;
 import static com.studyolle.modules.study.QStudy.study;
 import static com.studyolle.modules.tag.QTag.tag;
 import static com.studyolle.modules.zone.QZone.zone;
 
 public class StudyRepositoryImpl extends QuerydslRepositorySupport implements StudyRepositoryCustom
 {
-    /**
-     * 상위 클래스에 기본 생성자가 없어 생성
-     */
-    public StudyRepositoryImpl()
+    private final StudySearchIndex studySearchIndex;
+    private final StudySearchProperties studySearchProperties;
+    private final StudySearchCache studySearchCache;
+
+    public StudyRepositoryImpl(StudySearchIndex studySearchIndex, StudySearchProperties studySearchProperties, StudySearchCache studySearchCache)
     {
         super(Study.class);
+        this.studySearchIndex = studySearchIndex;
+        this.studySearchProperties = studySearchProperties;
+        this.studySearchCache = studySearchCache;
     }
 
+    /**
+     * 검색 모드가 index 이고 색인이 준비되었으면 메모리 역색인으로, 아니면 JPQL 로 검색한다.
+     * 검색 결과 아이디 페이지는 캐시하고, 스터디는 페이지의 아이디로만 조회한다.
+     * @param keyword
+     * @param pageable
+     * @return
+     */
     @Override
     public Page<Study> findByKeyword(String keyword, Pageable pageable)
     {
-        JPQLQuery<Study> query = from(study)
-                                .where(study.published.isTrue()
-                                        .and(study.title.containsIgnoreCase(keyword))
-                                        .or(study.tags.any().title.containsIgnoreCase(keyword))
-                                        .or(study.zones.any().localNameOfCity.containsIgnoreCase(keyword))
-                                    )
+        return findByKeyword(keyword, StudySearchFilter.none(), pageable);
+    }
+
+    /**
+     * 검색 결과를 태그, 지역 필터로 좁혀 검색한다.
+     * @param keyword
+     * @param filter
+     * @param pageable
+     * @return
+     * @see #findByKeyword(String, Pageable)
+     */
+    @Override
+    public Page<Study> findByKeyword(String keyword, StudySearchFilter filter, Pageable pageable)
+    {
+        return hydrate(cached(keyword, filter, pageable,
+                                () -> useIndex() ? findIdsWithIndex(keyword, filter, pageable) : findIdsWithJpql(keyword, filter, pageable)));
+    }
+
+    /**
+     * 연관도 순으로 검색한다. 색인을 사용할 수 없으면 공개일 순 검색으로 대신한다.
+     * @param keyword
+     * @param filter
+     * @param pageable
+     * @return
+     * @see StudySearchIndex#searchByRelevance(String, StudySearchFilter, Pageable)
+     */
+    @Override
+    public Page<Study> findByKeywordOrderByRelevance(String keyword, StudySearchFilter filter, Pageable pageable)
+    {
+        if (!useIndex())
+        {
+            return findByKeyword(keyword, filter, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.Direction.DESC, "publishedDateTime"));
+        }
+
+        return hydrate(cached(keyword, filter, pageable, () -> studySearchIndex.searchByRelevance(keyword, filter, pageable).map(StudyDocument::getId)));
+    }
+
+    /**
+     * 필터로 좁힌 검색 결과의 태그, 지역, 모집 여부별 스터디 수를 집계한다.
+     * 색인을 사용할 수 없으면(JPQL 모드이거나 색인 초기화 전) 같은 검색 조건으로 GROUP BY 쿼리 세 번을 실행해 집계한다.
+     * @param keyword
+     * @param filter
+     * @param limit 태그, 지역별 최대 항목 수
+     * @return
+     */
+    @Override
+    public StudySearchFacets findFacetsByKeyword(String keyword, StudySearchFilter filter, int limit)
+    {
+        if (useIndex())
+        {
+            return studySearchIndex.facets(keyword, filter, limit);
+        }
+
+        BooleanExpression condition = searchCondition(keyword, filter);
+        NumberExpression<Long> count = study.count();
+
+        List<StudySearchFacets.FacetCount> tags = from(study)
+                                                    .join(study.tags, tag)
+                                                    .where(condition)
+                                                    .groupBy(tag.title)
+                                                    .select(tag.title, count)
+                                                    .orderBy(count.desc(), tag.title.asc())
+                                                    .limit(limit)
+                                                    .fetch()
+                                                    .stream()
+                                                    .map(row -> new StudySearchFacets.FacetCount(row.get(tag.title), row.get(count).intValue()))
+                                                    .collect(Collectors.toList());
+
+        List<StudySearchFacets.FacetCount> zones = from(study)
+                                                    .join(study.zones, zone)
+                                                    .where(condition)
+                                                    .groupBy(zone.localNameOfCity)
+                                                    .select(zone.localNameOfCity, count)
+                                                    .orderBy(count.desc(), zone.localNameOfCity.asc())
+                                                    .limit(limit)
+                                                    .fetch()
+                                                    .stream()
+                                                    .map(row -> new StudySearchFacets.FacetCount(row.get(zone.localNameOfCity), row.get(count).intValue()))
+                                                    .collect(Collectors.toList());
+
+        int recruiting = 0;
+        int notRecruiting = 0;
+        for (Tuple row : from(study).where(condition).groupBy(study.recruiting).select(study.recruiting, count).fetch())
+        {
+            if (Boolean.TRUE.equals(row.get(study.recruiting)))
+            {
+                recruiting = row.get(count).intValue();
+            }
+            else
+            {
+                notRecruiting = row.get(count).intValue();
+            }
+        }
+
+        return new StudySearchFacets(tags, zones, recruiting, notRecruiting);
+    }
+
+    private boolean useIndex()
+    {
+        return studySearchProperties.getMode() == StudySearchProperties.Mode.INDEX && studySearchIndex.isReady();
+    }
+
+    /**
+     * 캐시에 없으면 조회해서 캐시한다. 조회 중에 스터디가 변경되어 캐시가 무효화되었으면 결과를 캐시하지 않는다.
+     * @param keyword
+     * @param filter
+     * @param pageable
+     * @param loader
+     * @return
+     */
+    private Page<Long> cached(String keyword, StudySearchFilter filter, Pageable pageable, Supplier<Page<Long>> loader)
+    {
+        long generation = studySearchCache.generation();
+        Page<Long> ids = studySearchCache.get(keyword, filter, pageable);
+        if (ids == null)
+        {
+            ids = loader.get();
+            studySearchCache.put(keyword, filter, pageable, ids, generation);
+        }
+        return ids;
+    }
+
+    private Page<Study> hydrate(Page<Long> ids)
+    {
+        return new PageImpl<>(findAllWithTagsAndZonesInOrder(ids.getContent()), ids.getPageable(), ids.getTotalElements());
+    }
+
+    private Page<Long> findIdsWithIndex(String keyword, StudySearchFilter filter, Pageable pageable)
+    {
+        List<StudyDocument> documents = studySearchIndex.search(keyword, filter, pageable.getSort());
+
+        int from = (int) Math.min(pageable.getOffset(), documents.size());
+        int to = Math.min(from + pageable.getPageSize(), documents.size());
+        List<Long> ids = documents.subList(from, to).stream()
+                                    .map(StudyDocument::getId)
+                                    .collect(Collectors.toList());
+
+        return new PageImpl<>(ids, pageable, documents.size());
+    }
+
+    /**
+     * 두 단계로 검색한다. 먼저 조인 없이 조건에 맞는 스터디 아이디만 DB 에서 정렬/페이징하고,
+     * 해당 페이지의 아이디만 태그, 지역과 함께 조회한다. 멤버 수는 memberCount 컬럼을 사용하므로 멤버는 조회하지 않는다.
+     * 컬렉션 fetch join 과 limit 을 함께 쓰지 않으므로 메모리 페이징(HHH000104)이 발생하지 않는다.
+     * @param keyword
+     * @param filter
+     * @param pageable
+     * @return
+     */
+    private Page<Long> findIdsWithJpql(String keyword, StudySearchFilter filter, Pageable pageable)
+    {
+        BooleanExpression condition = searchCondition(keyword, filter);
+
+        JPQLQuery<Long> idQuery = getQuerydsl().applyPagination(pageable, from(study).select(study.id).where(condition))
+                                                .orderBy(study.id.desc());
+
+        // 마지막 페이지임이 분명하면 count 쿼리를 생략한다.
+        return PageableExecutionUtils.getPage(idQuery.fetch(), pageable, () -> from(study).where(condition).fetchCount());
+    }
+
+    /**
+     * 키셋(seek) 방식으로 검색한다. 커서 이후 size + 1 건의 아이디만 조회해 다음 페이지 존재 여부를 판단하므로 count 쿼리가 없고,
+     * 태그/지역 조건은 exists 서브쿼리라 조인으로 행이 늘어나지 않아 DB 에서 바로 limit 할 수 있다.
+     * @param keyword 검색어
+     * @param filter 태그, 지역 필터
+     * @param sortProperty publishedDateTime 또는 memberCount (내림차순)
+     * @param cursor 기준 커서, 첫 페이지면 null
+     * @param size 페이지 크기
+     * @return
+     */
+    @Override
+    public StudyCursorPage findByKeywordWithCursor(String keyword, StudySearchFilter filter, String sortProperty, StudyCursor cursor, int size)
+    {
+        if (cursor != null && !cursor.getSortProperty().equals(sortProperty))
+        {
+            cursor = null;
+        }
+
+        boolean byMemberCount = StudyCursor.MEMBER_COUNT.equals(sortProperty);
+        boolean backward = cursor != null && cursor.getDirection() == StudyCursor.Direction.PREV;
+
+        BooleanBuilder where = new BooleanBuilder(searchCondition(keyword, filter));
+        if (cursor != null)
+        {
+            where.and(seek(cursor, backward));
+        }
+
+        OrderSpecifier<?> keyOrder = byMemberCount
+                                        ? (backward ? study.memberCount.asc() : study.memberCount.desc())
+                                        : (backward ? study.publishedDateTime.asc() : study.publishedDateTime.desc());
+
+        List<Long> ids = from(study)
+                            .select(study.id)
+                            .where(where)
+                            .orderBy(keyOrder, backward ? study.id.asc() : study.id.desc())
+                            .limit(size + 1)
+                            .fetch();
+
+        boolean hasMore = ids.size() > size;
+        if (hasMore)
+        {
+            ids = new ArrayList<>(ids.subList(0, size));
+        }
+        if (backward)
+        {
+            Collections.reverse(ids);
+        }
+
+        List<Study> content = findAllWithTagsAndZonesInOrder(ids);
+        boolean hasNext = backward || hasMore;
+        boolean hasPrevious = backward ? hasMore : cursor != null;
+
+        return new StudyCursorPage(content, sortProperty, hasNext, hasPrevious);
+    }
+
+    /**
+     * 공개된 스터디 중 검색어에 매칭되고 필터 조건을 만족하는 스터디 조건
+     * @param keyword
+     * @param filter
+     * @return
+     */
+    private BooleanExpression searchCondition(String keyword, StudySearchFilter filter)
+    {
+        BooleanExpression condition = study.published.isTrue().and(keywordMatches(keyword));
+        if (filter.getTag() != null)
+        {
+            condition = condition.and(study.tags.any().title.eq(filter.getTag()));
+        }
+        if (filter.getZone() != null)
+        {
+            condition = condition.and(study.zones.any().localNameOfCity.eq(filter.getZone()));
+        }
+        return condition;
+    }
+
+    /**
+     * 검색어 조건. 제목, 태그, 지역 중 하나라도 검색어를 포함하면 매칭된다.
+     * @param keyword
+     * @return
+     */
+    private BooleanExpression keywordMatches(String keyword)
+    {
+        return study.title.containsIgnoreCase(keyword)
+                .or(study.tags.any().title.containsIgnoreCase(keyword))
+                .or(study.zones.any().localNameOfCity.containsIgnoreCase(keyword));
+    }
+
+    /**
+     * 커서 위치 이후(또는 이전)의 행만 남기는 조건
+     * @param cursor
+     * @param backward
+     * @return
+     */
+    private BooleanExpression seek(StudyCursor cursor, boolean backward)
+    {
+        if (cursor.isMemberCountSort())
+        {
+            int key = cursor.getMemberCount();
+            return backward
+                    ? study.memberCount.gt(key).or(study.memberCount.eq(key).and(study.id.gt(cursor.getId())))
+                    : study.memberCount.lt(key).or(study.memberCount.eq(key).and(study.id.lt(cursor.getId())));
+        }
+
+        LocalDateTime key = cursor.getPublishedDateTime();
+        return backward
+                ? study.publishedDateTime.gt(key).or(study.publishedDateTime.eq(key).and(study.id.gt(cursor.getId())))
+                : study.publishedDateTime.lt(key).or(study.publishedDateTime.eq(key).and(study.id.lt(cursor.getId())));
+    }
+
+    /**
+     * 아이디 목록에 해당하는 스터디를 태그, 지역과 함께 조회해 아이디 목록 순서대로 반환한다.
+     * @param ids
+     * @return
+     */
+    private List<Study> findAllWithTagsAndZonesInOrder(List<Long> ids)
+    {
+        if (ids.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Study> byId = from(study)
+                                .where(study.id.in(ids))
                                 .leftJoin(study.tags, tag).fetchJoin()
                                 .leftJoin(study.zones, zone).fetchJoin()
-                                .leftJoin(study.members, account).fetchJoin()
-                                .distinct();
-
-        JPQLQuery<Study> pagination = getQuerydsl().applyPagination(pageable, query);
-        QueryResults<Study> studyQueryResults = pagination.fetchResults();
+                                .distinct()
+                                .fetch()
+                                .stream()
+                                .collect(Collectors.toMap(Study::getId, Function.identity()));
 
-        return new PageImpl<>(studyQueryResults.getResults(), pageable, studyQueryResults.getTotal());
+        return ids.stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
     }
 
     @Override
@@ -1,6 +1,7 @@
 package com.studyolle.modules.study;
 
 import com.studyolle.modules.account.Account;
+import com.studyolle.modules.study.event.StudyChangedEvent;
 import com.studyolle.modules.study.event.StudyCreatedEvent;
 import com.studyolle.modules.study.event.StudyUpdateEvent;
 import com.studyolle.modules.study.form.StudyForm;
@@ -126,6 +127,7 @@ public class StudyService
     public void addTag(Study study, Tag tag)
     {
         study.getTags().add(tag);
+        eventPublisher.publishEvent(new StudyChangedEvent(study.getId()));
     }
 
     /**
@@ -136,6 +138,7 @@ public class StudyService
     public void removeTag(Study study, Tag tag)
     {
         study.getTags().remove(tag);
+        eventPublisher.publishEvent(new StudyChangedEvent(study.getId()));
     }
 
     /**
@@ -146,6 +149,7 @@ public class StudyService
     public void addZone(Study study, Zone zone)
     {
         study.getZones().add(zone);
+        eventPublisher.publishEvent(new StudyChangedEvent(study.getId()));
     }
 
     /**
@@ -156,6 +160,7 @@ public class StudyService
     public void removeZone(Study study, Zone zone)
     {
         study.getZones().remove(zone);
+        eventPublisher.publishEvent(new StudyChangedEvent(study.getId()));
     }
 
     /**
@@ -288,6 +293,7 @@ public class StudyService
     public void updateStudyTitle(Study study, String newTitle)
     {
         study.setTitle(newTitle);
+        eventPublisher.publishEvent(new StudyChangedEvent(study.getId()));
     }
 
     /**
@@ -299,6 +305,7 @@ public class StudyService
         if (study.isRemovable())
         {
             studyRepository.delete(study);
+            eventPublisher.publishEvent(new StudyChangedEvent(study.getId()));
         }
         else
         {
@@ -327,6 +334,7 @@ public class StudyService
     public void addMember(Account account, Study study)
     {
         study.addMember(account);
+        eventPublisher.publishEvent(new StudyChangedEvent(study.getId()));
     }
 
     /**
@@ -337,6 +345,7 @@ public class StudyService
     public void removeMember(Account account, Study study)
     {
         study.removeMember(account);
+        eventPublisher.publishEvent(new StudyChangedEvent(study.getId()));
     }
 
     /**
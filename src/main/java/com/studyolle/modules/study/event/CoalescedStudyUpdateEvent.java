@@ -0,0 +1,35 @@
+package com.studyolle.modules.study.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * <h1>스터디 수정 묶음 이벤트 클래스</h1>
+ *
+ * 같은 스터디에 짧은 시간 동안 발생한 {@link StudyUpdateEvent} 들을 하나로 합친 이벤트이다.
+ * 알림과 메일은 이 이벤트 하나당 멤버별로 한 번만 보낸다.
+ *
+ * @see StudyUpdateCoalescer
+ */
+@Getter
+@RequiredArgsConstructor
+public class CoalescedStudyUpdateEvent
+{
+    private final Long studyId;
+
+    /**
+     * 중복을 제외한 수정 내용 (발생 순서)
+     */
+    private final List<String> messages;
+
+    /**
+     * 알림과 메일에 보여줄 메시지
+     * @return
+     */
+    public String getMessage()
+    {
+        return String.join(" ", messages);
+    }
+}
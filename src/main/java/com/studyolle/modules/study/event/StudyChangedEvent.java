@@ -0,0 +1,19 @@
+package com.studyolle.modules.study.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h1>스터디 정보 변경 이벤트 클래스</h1>
+ *
+ * 스터디 이름, 태그, 지역, 멤버 구성처럼 알림은 보내지 않지만 검색 색인 등에 반영되어야 하는 변경이 있을 때 발생한다.<br>
+ * 엔티티 대신 아이디만 담아서, 리스너에서는 항상 커밋된 최신 상태를 다시 조회하도록 한다.
+ *
+ * @see com.studyolle.modules.study.StudyService
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyChangedEvent
+{
+    private final Long studyId;
+}
@@ -1,14 +1,20 @@
 package com.studyolle.modules.study.event;
 
-import com.studyolle.infra.config.AppProperties;
 import com.studyolle.infra.mail.EmailMessage;
-import com.studyolle.infra.mail.EmailService;
+import com.studyolle.infra.mail.MailDigest;
+import com.studyolle.infra.mail.MailDigestEntry;
+import com.studyolle.infra.mail.MailDigestPeriod;
+import com.studyolle.infra.mail.MailOutbox;
+import com.studyolle.infra.mail.SimpleLinkMailTemplate;
 import com.studyolle.modules.account.Account;
-import com.studyolle.modules.account.AccountPredicates;
 import com.studyolle.modules.account.AccountRepository;
+import com.studyolle.modules.account.NotificationRecipient;
 import com.studyolle.modules.notification.Notification;
+import com.studyolle.modules.notification.NotificationBulkWriter;
 import com.studyolle.modules.notification.NotificationRepository;
+import com.studyolle.modules.notification.NotificationStreamBroker;
 import com.studyolle.modules.notification.NotificationType;
+import com.studyolle.modules.notification.UnreadNotificationCounter;
 import com.studyolle.modules.study.Study;
 import com.studyolle.modules.study.StudyRepository;
 import lombok.RequiredArgsConstructor;
@@ -16,115 +22,176 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
  * <h1>스터디 이벤트 리스너 클래스</h1>
  *
+ * 메일 모아보기를 선택한 사용자에게는 메일을 바로 보내지 않고 {@link MailDigest} 에 항목으로 저장한다.<br>
+ * 스터디 개설 알림은 수신자가 수만 명일 수 있으므로 트랜잭션 하나로 묶지 않고, 수신자 묶음마다 저장하고 커밋한다.
+ * 알림, 메일, 모아보기 항목 모두 엔티티를 만들지 않고 JDBC batch insert 로 저장하므로 메모리 사용량은 수신자 묶음 크기로 유지된다.
+ *
  * @see com.studyolle.modules.study.event.StudyCreatedEvent
+ * @see com.studyolle.modules.study.event.CoalescedStudyUpdateEvent
  */
 @Component
 @Slf4j
-@Transactional
-@Async
+@Async("notificationExecutor")
 @RequiredArgsConstructor
 public class StudyEventListener
 {
+    private static final int RECIPIENT_CHUNK_SIZE = 500;
+
     private final StudyRepository studyRepository;
     private final AccountRepository accountRepository;
-    private final EmailService emailService;
-    private final TemplateEngine templateEngine;
-    private final AppProperties appProperties;
+    private final MailOutbox mailOutbox;
+    private final MailDigest mailDigest;
+    private final SimpleLinkMailTemplate simpleLinkMailTemplate;
     private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationStreamBroker notificationStreamBroker;
+    private final NotificationBulkWriter notificationBulkWriter;
 
     /**
      * 스터디 개설 이벤트 핸들러 메서드
+     * 트랜잭션 없이 실행해서 {@link NotificationBulkWriter} 가 알림을 묶음마다 따로 커밋하도록 한다.
      * @param event
      */
     @EventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void handleStudyCreatedEvent(StudyCreatedEvent event)
     {
         Study study = studyRepository.findStudyWithTagsAndZonesById(event.getStudy().getId());
-        Iterable<Account> all = accountRepository.findAll(AccountPredicates.findByTagsAndZones(study.getTags(), study.getZones()));
-        all.forEach(account -> {
-            if (account.isStudyCreatedByEmail())
-            {
-                sendStudyCreatedEmail(study, account);
-            }
-            if (account.isStudyCreatedByWeb())
-            {
-                saveStudyCreatedNotification(study, account);
-            }
+        SimpleLinkMailTemplate.Prepared mail = simpleLinkMailTemplate.prepare("/study/" + study.getEncodePath(), study.getTitle(),
+                                                                                "새로운 스터디가 개설되었습니다.");
+        accountRepository.forEachRecipientChunk(study.getTags(), study.getZones(), RECIPIENT_CHUNK_SIZE, recipients -> {
+            List<Long> webRecipients = new ArrayList<>();
+            List<EmailMessage> emailMessages = new ArrayList<>();
+            List<MailDigestEntry> digestEntries = new ArrayList<>();
+            recipients.forEach(recipient -> {
+                if (recipient.isStudyCreatedByEmail() && MailDigestPeriod.isDigest(recipient.getEmailDigest()))
+                {
+                    digestEntries.add(digestEntry(study, recipient.getId(), recipient.getEmail(), recipient.getNickname(),
+                                                    recipient.getEmailDigest(), "새로운 스터디가 개설되었습니다."));
+                }
+                else if (recipient.isStudyCreatedByEmail())
+                {
+                    emailMessages.add(studyCreatedEmail(study, recipient, mail));
+                }
+                if (recipient.isStudyCreatedByWeb())
+                {
+                    webRecipients.add(recipient.getId());
+                }
+            });
+            saveStudyCreatedNotifications(study, webRecipients);
+            mailOutbox.enqueueAll(emailMessages);
+            mailDigest.addAll(digestEntries);
         });
     }
 
+    /**
+     * 스터디 수정 이벤트 핸들러 메서드
+     * 짧은 시간 동안의 수정 이벤트는 {@link StudyUpdateCoalescer} 가 하나로 합쳐서 발행하므로 멤버마다 한 번만 알린다.
+     * @param event
+     */
     @EventListener
-    public void handleStudyUpdateEvent(StudyUpdateEvent event)
+    @Transactional
+    public void handleCoalescedStudyUpdateEvent(CoalescedStudyUpdateEvent event)
     {
-        Study study = studyRepository.findStudyWithMembersAndManagersByPath(event.getStudy().getPath());
+        Study study = studyRepository.findStudyWithMembersAndManagersById(event.getStudyId());
+        if (study == null)
+        {
+            return;
+        }
+
         Set<Account> accounts = new HashSet<>();
         accounts.addAll(study.getManagers());
         accounts.addAll(study.getMembers());
 
+        SimpleLinkMailTemplate.Prepared mail = simpleLinkMailTemplate.prepare("/study/" + study.getEncodePath(), study.getTitle(),
+                                                                                event.getMessage());
+        List<MailDigestEntry> digestEntries = new ArrayList<>();
         accounts.forEach(account -> {
-            if (account.isStudyUpdatedByEmail())
+            if (account.isStudyUpdatedByEmail() && MailDigestPeriod.isDigest(account.getEmailDigest()))
+            {
+                digestEntries.add(digestEntry(study, account.getId(), account.getEmail(), account.getNickname(),
+                                                account.getEmailDigest(), event.getMessage()));
+            }
+            else if (account.isStudyUpdatedByEmail())
             {
-                sendStudyUpdateEmail(study, account, event.getMessage());
+                sendStudyUpdateEmail(study, account, mail);
             }
             if (account.isStudyUpdatedByWeb())
             {
                 saveStudyUpdateNotification(study, account, event.getMessage());
             }
         });
+        mailDigest.addAll(digestEntries);
     }
 
     /**
-     * 스터디 개설 알림 정보 저장 메서드
+     * 메일 모아보기 항목 생성 메서드
      * @param study
-     * @param account
+     * @param accountId
+     * @param email
+     * @param nickname
+     * @param period 수신자의 모아보기 주기
+     * @param message
+     * @return
      */
-    private void saveStudyCreatedNotification(Study study, Account account) {
+    private MailDigestEntry digestEntry(Study study, Long accountId, String email, String nickname, MailDigestPeriod period, String message)
+    {
+        return MailDigestEntry.builder()
+                                .period(period)
+                                .accountId(accountId)
+                                .email(email)
+                                .nickname(nickname)
+                                .title(study.getTitle())
+                                .link("/study/" + study.getEncodePath())
+                                .message(message)
+                                .createdDateTime(LocalDateTime.now())
+                            .build();
+    }
+
+    /**
+     * 스터디 개설 알림 정보 일괄 저장 메서드
+     * @param study
+     * @param accountIds 웹 알림을 받는 사용자 아이디
+     */
+    private void saveStudyCreatedNotifications(Study study, List<Long> accountIds) {
         Notification notification = Notification.builder()
                                                     .title(study.getTitle() + " 가 개설됨")
                                                     .link("/study/" + study.getEncodePath())
                                                     .checked(false)
                                                     .createdDateTime(LocalDateTime.now())
                                                     .message(study.getShortDescription())
-                                                    .account(account)
                                                     .notificationType(NotificationType.STUDY_CREATED)
                                                 .build();
 
-        notificationRepository.save(notification);
+        notificationBulkWriter.write(notification, accountIds);
     }
 
     /**
-     * 스터디 개설 알림 메일 발송 메서드
+     * 스터디 개설 알림 메일 생성 메서드
      * @param study
-     * @param account
+     * @param recipient
+     * @param mail 수신자 이름을 제외하고 렌더링한 메일 본문
+     * @return
      */
-    private void sendStudyCreatedEmail(Study study, Account account)
+    private EmailMessage studyCreatedEmail(Study study, NotificationRecipient recipient, SimpleLinkMailTemplate.Prepared mail)
     {
-        Context context = new Context();
-        context.setVariable("link", "/study/" + study.getEncodePath());
-        context.setVariable("nickname", account.getNickname());
-        context.setVariable("linkName", study.getTitle());
-        context.setVariable("message", "새로운 스터디가 개설되었습니다.");
-        context.setVariable("host", appProperties.getHost());
-
-        String message = templateEngine.process("mail/simple-link", context);
-
-        EmailMessage emailMessage = EmailMessage.builder()
-                                                    .subject("[스터디올래] " + study.getTitle() + " 스터디가 개설되었습니다.")
-                                                    .to(account.getEmail())
-                                                    .message(message)
-                                                .build();
-        emailService.sendEmail(emailMessage);
+        return EmailMessage.builder()
+                                .subject("[스터디올래] " + study.getTitle() + " 스터디가 개설되었습니다.")
+                                .to(recipient.getEmail())
+                                .message(mail.render(recipient.getNickname()))
+                            .build();
     }
 
     /**
@@ -144,29 +211,23 @@ public class StudyEventListener
                                                 .build();
 
         notificationRepository.save(notification);
+        unreadNotificationCounter.evict(account.getId());
+        notificationStreamBroker.publish(account.getId(), notification);
     }
 
     /**
      * 스터디 수정 알림 메일 발송 메서드
      * @param study
      * @param account
+     * @param mail 수신자 이름을 제외하고 렌더링한 메일 본문
      */
-    private void sendStudyUpdateEmail(Study study, Account account, String message)
+    private void sendStudyUpdateEmail(Study study, Account account, SimpleLinkMailTemplate.Prepared mail)
     {
-        Context context = new Context();
-        context.setVariable("link", "/study/" + study.getEncodePath());
-        context.setVariable("nickname", account.getNickname());
-        context.setVariable("linkName", study.getTitle());
-        context.setVariable("message", message);
-        context.setVariable("host", appProperties.getHost());
-
-        String email = templateEngine.process("mail/simple-link", context);
-
         EmailMessage emailMessage = EmailMessage.builder()
                                                     .subject("[스터디올래] " + study.getTitle() + " 스터디가 개설되었습니다.")
                                                     .to(account.getEmail())
-                                                    .message(email)
+                                                    .message(mail.render(account.getNickname()))
                                                 .build();
-        emailService.sendEmail(emailMessage);
+        mailOutbox.enqueue(emailMessage);
     }
 }
@@ -0,0 +1,117 @@
+package com.studyolle.modules.study.event;
+
+import com.studyolle.modules.study.Study;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <h1>스터디 수정 이벤트 병합 클래스</h1>
+ *
+ * 매니저가 소개 수정, 팀원 모집 시작 등을 연달아 하면 {@link StudyUpdateEvent} 가 여러 번 발생하는데,
+ * 이벤트마다 멤버 조회, 메일 발송, 알림 저장을 하지 않도록 같은 스터디의 이벤트를 모아서 {@link CoalescedStudyUpdateEvent} 하나로 발행한다.<br>
+ * 첫 이벤트가 커밋된 뒤 {@link StudyUpdateNotificationProperties#getUpdateNotificationWindow()} 가 지나면 발행하므로,
+ * 수정이 계속 이어져도 알림이 그 이상 늦어지지 않는다. 종료 시에는 모아둔 이벤트를 바로 발행한다.
+ *
+ * <pre>
+ * study.update.coalesced : 앞선 이벤트에 합쳐진 이벤트 수
+ * </pre>
+ *
+ * @see StudyEventListener#handleCoalescedStudyUpdateEvent
+ */
+@Component
+@Slf4j
+public class StudyUpdateCoalescer
+{
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler scheduler;
+    private final StudyUpdateNotificationProperties properties;
+
+    private final ConcurrentMap<Long, PendingUpdate> pendingUpdates = new ConcurrentHashMap<>();
+
+    private final Counter coalesced;
+
+    public StudyUpdateCoalescer(ApplicationEventPublisher eventPublisher,
+                                @Qualifier("studyUpdateScheduler") TaskScheduler scheduler,
+                                StudyUpdateNotificationProperties properties,
+                                MeterRegistry meterRegistry)
+    {
+        this.eventPublisher = eventPublisher;
+        this.scheduler = scheduler;
+        this.properties = properties;
+        this.coalesced = Counter.builder("study.update.coalesced").register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyUpdateEvent(StudyUpdateEvent event)
+    {
+        Study study = event.getStudy();
+        Duration window = properties.getUpdateNotificationWindow();
+        if (window.isZero() || window.isNegative())
+        {
+            eventPublisher.publishEvent(new CoalescedStudyUpdateEvent(study.getId(), List.of(event.getMessage())));
+            return;
+        }
+
+        PendingUpdate created = new PendingUpdate();
+        PendingUpdate pending = pendingUpdates.compute(study.getId(), (id, current) -> {
+            PendingUpdate update = current != null ? current : created;
+            update.add(event.getMessage());
+            return update;
+        });
+
+        if (pending == created)
+        {
+            scheduler.schedule(() -> flush(study.getId()), Instant.now().plus(window));
+        }
+        else
+        {
+            coalesced.increment();
+        }
+    }
+
+    /**
+     * 모아둔 스터디 수정 이벤트 발행 메서드
+     * @param studyId
+     */
+    void flush(Long studyId)
+    {
+        PendingUpdate pending = pendingUpdates.remove(studyId);
+        if (pending != null)
+        {
+            log.debug("study {} updates coalesced : {}", studyId, pending.messages);
+            eventPublisher.publishEvent(new CoalescedStudyUpdateEvent(studyId, new ArrayList<>(pending.messages)));
+        }
+    }
+
+    @PreDestroy
+    void flushAll()
+    {
+        new ArrayList<>(pendingUpdates.keySet()).forEach(this::flush);
+    }
+
+    private static class PendingUpdate
+    {
+        private final Set<String> messages = new LinkedHashSet<>();
+
+        void add(String message)
+        {
+            messages.add(message);
+        }
+    }
+}
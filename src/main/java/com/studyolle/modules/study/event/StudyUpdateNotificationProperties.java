@@ -0,0 +1,21 @@
+package com.studyolle.modules.study.event;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * <h1>스터디 수정 알림 설정 클래스</h1>
+ *
+ * app.study.update-notification-window 는 같은 스터디의 수정 이벤트를 모아서 한 번에 알리는 시간이다.
+ * 0 이면 모으지 않고 바로 알린다.
+ */
+@Data
+@Component
+@ConfigurationProperties("app.study")
+public class StudyUpdateNotificationProperties
+{
+    private Duration updateNotificationWindow = Duration.ofMinutes(1);
+}
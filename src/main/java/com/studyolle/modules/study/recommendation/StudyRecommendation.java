@@ -0,0 +1,99 @@
+package com.studyolle.modules.study.recommendation;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h1>사용자별 추천 스터디 엔티티</h1>
+ *
+ * 사용자의 관심 주제와 활동 지역에 맞는 최근 공개 스터디 {@value #SIZE} 건의 아이디를 미리 계산해 사용자당 한 행으로 보관한다.<br>
+ * 아이디 목록은 (account_id, study_id) 테이블에 순서와 함께 저장하고 study_id 에 인덱스를 두어,
+ * 특정 스터디를 포함하는 사용자를 전체 행을 훑지 않고 찾는다.
+ *
+ * @see StudyRecommendationService
+ */
+@Entity
+@Getter
+@EqualsAndHashCode(of = "accountId")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StudyRecommendation
+{
+    public static final int SIZE = 9;
+
+    @Id
+    private Long accountId;
+
+    @ElementCollection
+    @CollectionTable(name = "study_recommendation_study",
+                    joinColumns = @JoinColumn(name = "account_id"),
+                    indexes = @Index(name = "idx_study_recommendation_study_study_id", columnList = "study_id"))
+    @Column(name = "study_id", nullable = false)
+    @OrderColumn(name = "position")
+    private List<Long> studyIds = new ArrayList<>();
+
+    /**
+     * 목록이 가득 찼을 때 가장 오래된 스터디의 공개일 (이보다 먼저 공개된 스터디는 목록에 들어올 수 없다)<br>
+     * 목록이 가득 차지 않았거나, {@link #prepend} 로 가득 차서 아직 알 수 없으면 null
+     */
+    private LocalDateTime oldestPublishedDateTime;
+
+    /**
+     * 목록을 마지막으로 변경한 시각. 이후에 공개된 스터디는 목록의 모든 스터디보다 최신이다.
+     */
+    private LocalDateTime updatedDateTime;
+
+    public StudyRecommendation(Long accountId)
+    {
+        this.accountId = accountId;
+    }
+
+    public List<Long> getStudyIdList()
+    {
+        return Collections.unmodifiableList(new ArrayList<>(studyIds));
+    }
+
+    public boolean contains(Long studyId)
+    {
+        return studyIds.contains(studyId);
+    }
+
+    /**
+     * 목록 전체 교체
+     * @param ids 최근 공개 순 스터디 아이디
+     * @param oldestPublishedDateTime 마지막 스터디의 공개일
+     */
+    public void replace(List<Long> ids, LocalDateTime oldestPublishedDateTime)
+    {
+        this.studyIds.clear();
+        this.studyIds.addAll(ids);
+        this.oldestPublishedDateTime = ids.size() >= SIZE ? oldestPublishedDateTime : null;
+        this.updatedDateTime = LocalDateTime.now();
+    }
+
+    /**
+     * 새로 공개된 스터디를 맨 앞에 추가하고 {@value #SIZE} 건을 넘는 부분은 버린다.<br>
+     * 버린 뒤의 마지막 스터디 공개일은 알 수 없으므로 {@link #oldestPublishedDateTime} 은 그대로 둔다. (실제 값보다 작거나 같다)
+     * 가득 차지 않은 목록이 추가로 가득 찬 경우에는 null 로 남으므로, 이후 더 오래된 스터디가 변경되면 재계산한다.
+     * @param studyId
+     */
+    public void prepend(Long studyId)
+    {
+        studyIds.remove(studyId);
+        studyIds.add(0, studyId);
+        while (studyIds.size() > SIZE)
+        {
+            studyIds.remove(studyIds.size() - 1);
+        }
+        this.updatedDateTime = LocalDateTime.now();
+    }
+
+    public boolean isFull()
+    {
+        return studyIds.size() >= SIZE;
+    }
+}
@@ -0,0 +1,52 @@
+package com.studyolle.modules.study.recommendation;
+
+import com.studyolle.modules.account.event.AccountInterestChangedEvent;
+import com.studyolle.modules.study.event.StudyChangedEvent;
+import com.studyolle.modules.study.event.StudyCreatedEvent;
+import com.studyolle.modules.study.event.StudyUpdateEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * <h1>추천 스터디 갱신 이벤트 리스너</h1>
+ *
+ * 스터디 공개/종료/변경과 사용자 관심사 변경이 커밋된 뒤 영향을 받는 추천 목록만 갱신한다.
+ *
+ * @see StudyRecommendationService
+ */
+@Component
+@RequiredArgsConstructor
+public class StudyRecommendationEventListener
+{
+    private final StudyRecommendationService studyRecommendationService;
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyCreatedEvent(StudyCreatedEvent event)
+    {
+        studyRecommendationService.applyStudyChange(event.getStudy().getId());
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyUpdateEvent(StudyUpdateEvent event)
+    {
+        studyRecommendationService.applyStudyChange(event.getStudy().getId());
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyChangedEvent(StudyChangedEvent event)
+    {
+        studyRecommendationService.applyStudyChange(event.getStudyId());
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleAccountInterestChangedEvent(AccountInterestChangedEvent event)
+    {
+        studyRecommendationService.refresh(event.getAccountId());
+    }
+}
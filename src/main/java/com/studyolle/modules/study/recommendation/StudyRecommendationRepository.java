@@ -0,0 +1,30 @@
+package com.studyolle.modules.study.recommendation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <h1>StudyRecommendation 리포지토리</h1>
+ */
+@Transactional(readOnly = true)
+public interface StudyRecommendationRepository extends JpaRepository<StudyRecommendation, Long>
+{
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from StudyRecommendation r where r.accountId in :accountIds")
+    List<StudyRecommendation> findForUpdateByAccountIdIn(@Param("accountIds") Collection<Long> accountIds);
+
+    /**
+     * 스터디를 추천 목록에 포함하고 있는 사용자 아이디. study_id 인덱스로 조회하고 잠그지 않는다.
+     * @param studyId
+     * @return
+     */
+    @Query(value = "select account_id from study_recommendation_study where study_id = :studyId", nativeQuery = true)
+    List<Long> findAccountIdsContaining(@Param("studyId") Long studyId);
+}
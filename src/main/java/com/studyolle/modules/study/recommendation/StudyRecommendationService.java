@@ -0,0 +1,165 @@
+package com.studyolle.modules.study.recommendation;
+
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountRepository;
+import com.studyolle.modules.study.Study;
+import com.studyolle.modules.study.StudyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * <h1>추천 스터디 서비스 클래스</h1>
+ *
+ * 로그인한 사용자의 메인 페이지에 보여줄 추천 스터디 목록을 미리 계산해서 관리한다.<br>
+ * 메인 페이지는 사용자의 추천 행 하나와 해당 스터디 {@value StudyRecommendation#SIZE} 건만 조회하고,
+ * 관심사 매칭 쿼리({@link StudyRepository#findByAccount(Set, Set)})는 관심사나 스터디가 변경될 때 영향을 받는 사용자에 대해서만 실행한다.
+ *
+ * @see StudyRecommendationEventListener
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class StudyRecommendationService
+{
+    private final StudyRecommendationRepository studyRecommendationRepository;
+    private final StudyRepository studyRepository;
+    private final AccountRepository accountRepository;
+
+    /**
+     * 추천 스터디 조회 메서드
+     * 아직 계산된 적이 없는 사용자는 이 때 계산해서 저장한다.
+     * @param account
+     * @return 최근 공개 순 추천 스터디 (태그, 지역 포함)
+     */
+    public List<Study> getRecommendedStudies(Account account)
+    {
+        StudyRecommendation recommendation = studyRecommendationRepository.findById(account.getId())
+                                                                            .orElseGet(() -> refresh(account.getId()));
+        List<Long> ids = recommendation.getStudyIdList();
+        if (ids.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Study> byId = studyRepository.findStudyWithTagsAndZonesByIdIn(ids).stream()
+                                                .collect(Collectors.toMap(Study::getId, Function.identity()));
+        return ids.stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+    }
+
+    /**
+     * 사용자의 추천 스터디 전체 재계산 메서드
+     * @param accountId
+     * @return
+     */
+    public StudyRecommendation refresh(Long accountId)
+    {
+        StudyRecommendation recommendation = studyRecommendationRepository.findForUpdateByAccountIdIn(List.of(accountId)).stream()
+                                                                            .findFirst()
+                                                                            .orElseGet(() -> new StudyRecommendation(accountId));
+        Account account = accountRepository.findAccountWithTagsAndZonesById(accountId);
+        recompute(recommendation, account);
+        return studyRecommendationRepository.save(recommendation);
+    }
+
+    /**
+     * 스터디 공개, 종료, 태그/지역 변경, 삭제 등을 추천 목록에 반영한다.
+     * <ul>
+     *     <li>스터디를 포함하고 있지만 더 이상 추천 대상이 아닌 사용자 : 재계산</li>
+     *     <li>추천 대상이지만 포함하고 있지 않은 사용자 : 목록 갱신 이후 공개된 스터디면 맨 앞에 추가,
+     *         목록의 가장 오래된 스터디보다 먼저 공개되었으면 무시, 그 외에는 재계산</li>
+     * </ul>
+     * 아직 추천 행이 없는 사용자는 다음 메인 페이지 조회 시 계산되므로 건너뛴다.
+     * 가장 오래된 스터디 공개일을 모르는 목록(prepend 로 가득 찬 목록)은 비교할 수 없으므로 재계산한다.<br>
+     * 잠그는 행은 스터디를 포함하거나 추천 대상인 사용자의 행뿐이다.
+     * @param studyId
+     */
+    public void applyStudyChange(Long studyId)
+    {
+        Study study = studyRepository.findStudyWithTagsAndZonesById(studyId);
+        Set<Long> matchingAccountIds = findMatchingAccountIds(study);
+
+        Map<Long, StudyRecommendation> holders = lock(studyRecommendationRepository.findAccountIdsContaining(studyId)).stream()
+                                                    .filter(recommendation -> recommendation.contains(studyId))
+                                                    .collect(Collectors.toMap(StudyRecommendation::getAccountId, Function.identity()));
+        for (StudyRecommendation recommendation : holders.values())
+        {
+            if (!matchingAccountIds.contains(recommendation.getAccountId()))
+            {
+                recompute(recommendation, accountRepository.findAccountWithTagsAndZonesById(recommendation.getAccountId()));
+            }
+        }
+
+        matchingAccountIds.removeAll(holders.keySet());
+        if (matchingAccountIds.isEmpty())
+        {
+            return;
+        }
+
+        for (StudyRecommendation recommendation : lock(matchingAccountIds))
+        {
+            if (!study.getPublishedDateTime().isBefore(recommendation.getUpdatedDateTime()))
+            {
+                recommendation.prepend(studyId);
+            }
+            else if (!recommendation.isFull()
+                        || recommendation.getOldestPublishedDateTime() == null
+                        || !study.getPublishedDateTime().isBefore(recommendation.getOldestPublishedDateTime()))
+            {
+                recompute(recommendation, accountRepository.findAccountWithTagsAndZonesById(recommendation.getAccountId()));
+            }
+        }
+    }
+
+    /**
+     * 사용자들의 추천 행을 기본 키로 잠그고 조회한다.
+     * @param accountIds
+     * @return
+     */
+    private List<StudyRecommendation> lock(Collection<Long> accountIds)
+    {
+        if (accountIds.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        return studyRecommendationRepository.findForUpdateByAccountIdIn(accountIds);
+    }
+
+    private void recompute(StudyRecommendation recommendation, Account account)
+    {
+        if (account == null || account.getTags().isEmpty() || account.getZones().isEmpty())
+        {
+            recommendation.replace(Collections.emptyList(), null);
+            return;
+        }
+
+        List<Study> studies = studyRepository.findByAccount(account.getTags(), account.getZones());
+        List<Long> ids = studies.stream().map(Study::getId).collect(Collectors.toList());
+        recommendation.replace(ids, studies.isEmpty() ? null : studies.get(studies.size() - 1).getPublishedDateTime());
+    }
+
+    /**
+     * 스터디를 추천받을 사용자 아이디. 공개되었고 종료되지 않은 스터디의 태그와 지역이 모두 겹치는 사용자이다.
+     * @param study
+     * @return
+     */
+    private Set<Long> findMatchingAccountIds(Study study)
+    {
+        if (study == null || !study.isPublished() || study.isClosed() || study.getTags().isEmpty() || study.getZones().isEmpty())
+        {
+            return new HashSet<>();
+        }
+
+        Set<Long> accountIds = new HashSet<>();
+        accountRepository.forEachRecipientChunk(study.getTags(), study.getZones(), 500,
+                recipients -> recipients.forEach(recipient -> accountIds.add(recipient.getId())));
+        return accountIds;
+    }
+}
@@ -0,0 +1,54 @@
+package com.studyolle.modules.study.search;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h1>패싯 값 사전 클래스</h1>
+ *
+ * 태그나 지역 이름에 0 부터 순서대로 번호를 부여해, 패싯 집계를 이름 대신 int 배열 인덱스로 할 수 있게 한다.<br>
+ * 번호는 한 번 부여하면 바뀌지 않는다.
+ */
+class FacetDictionary
+{
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+
+    private volatile String[] names = new String[0];
+
+    /**
+     * 이름의 번호를 반환하고, 처음 보는 이름이면 새 번호를 부여한다.
+     * @param name
+     * @return
+     */
+    synchronized int add(String name)
+    {
+        Integer ordinal = ordinals.get(name);
+        if (ordinal != null)
+        {
+            return ordinal;
+        }
+
+        String[] grown = Arrays.copyOf(names, names.length + 1);
+        grown[names.length] = name;
+        names = grown;
+        ordinals.put(name, grown.length - 1);
+        return grown.length - 1;
+    }
+
+    /**
+     * 이름의 번호
+     * @param name
+     * @return 번호, 없으면 -1
+     */
+    int ordinal(String name)
+    {
+        Integer ordinal = ordinals.get(name);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    String[] names()
+    {
+        return names;
+    }
+}
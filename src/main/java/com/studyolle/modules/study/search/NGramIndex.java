@@ -0,0 +1,379 @@
+package com.studyolle.modules.study.search;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h1>n-gram 부분 문자열 색인 클래스</h1>
+ *
+ * 한글 제목이나 "안산시" 같은 지역 이름은 공백 기준 토큰으로는 부분 검색이 되지 않으므로,
+ * 필드 값을 글자 단위 바이그램(검색어가 한 글자면 유니그램)으로 잘라 n-gram → 문서 번호 목록으로 보관한다.<br>
+ * 문서 번호는 스터디마다 한 번 부여되는 int 이고, 목록은 정렬된 int[] 라 박싱 없이 교집합을 구한다.
+ * 교집합으로 후보를 좁힌 뒤 원문에 실제로 포함되는지 확인해 거짓 양성을 제거한다.<br>
+ * 쓰기는 직렬화하고, 목록은 쓸 때마다 새 배열로 교체(copy-on-write)하므로 읽기는 잠금이 없다.
+ * 여러 문서를 한 번에 색인할 때는 {@link #putAll} 로 n-gram 별 목록을 모은 뒤 한 번만 정렬해 교체한다.<br>
+ * 공백 한 글자는 거의 모든 문서에 있어 목록만 커지므로 유니그램으로 색인하지 않는다.
+ */
+public class NGramIndex
+{
+    private static final int[] EMPTY = new int[0];
+
+    private final Map<String, int[]> postings = new ConcurrentHashMap<>();
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+
+    private volatile long[] ids = new long[1024];
+
+    private volatile String[][] texts = new String[1024][];
+
+    private int nextOrdinal = 0;
+
+    /**
+     * 문서를 색인에 추가하거나 갱신한다.
+     * @param id 스터디 아이디
+     * @param fields 부분 검색 대상 필드 값
+     */
+    public synchronized void put(long id, Collection<String> fields)
+    {
+        remove(id);
+
+        Integer ordinal = ordinals.get(id);
+        if (ordinal == null)
+        {
+            ordinal = nextOrdinal++;
+            ordinals.put(id, ordinal);
+            ensureCapacity(ordinal + 1);
+        }
+
+        String[] normalized = normalize(fields);
+        ids[ordinal] = id;
+        texts[ordinal] = normalized;
+
+        for (String gram : grams(normalized))
+        {
+            postings.merge(gram, new int[]{ordinal}, (current, single) -> insert(current, single[0]));
+        }
+    }
+
+    /**
+     * 여러 문서를 한 번에 색인에 추가하거나 갱신한다.
+     * n-gram 마다 문서 번호를 버퍼에 모은 뒤 기존 목록과 합쳐 한 번만 정렬하므로, 전체 색인이 문서 수의 제곱에 비례해 느려지지 않는다.
+     * @param documents 스터디 아이디 → 부분 검색 대상 필드 값
+     */
+    public synchronized void putAll(Map<Long, ? extends Collection<String>> documents)
+    {
+        Map<String, IntBuffer> added = new HashMap<>();
+        for (Map.Entry<Long, ? extends Collection<String>> document : documents.entrySet())
+        {
+            long id = document.getKey();
+            remove(id);
+
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null)
+            {
+                ordinal = nextOrdinal++;
+                ordinals.put(id, ordinal);
+                ensureCapacity(ordinal + 1);
+            }
+
+            String[] normalized = normalize(document.getValue());
+            ids[ordinal] = id;
+            texts[ordinal] = normalized;
+
+            for (String gram : grams(normalized))
+            {
+                added.computeIfAbsent(gram, key -> new IntBuffer()).add(ordinal);
+            }
+        }
+
+        added.forEach((gram, buffer) -> {
+            int[] current = postings.getOrDefault(gram, EMPTY);
+            int[] merged = Arrays.copyOf(current, current.length + buffer.size);
+            System.arraycopy(buffer.values, 0, merged, current.length, buffer.size);
+            postings.put(gram, sortedDistinct(merged));
+        });
+    }
+
+    /**
+     * 문서를 색인에서 제거한다. 문서 번호는 재사용을 위해 남겨둔다.
+     * @param id 스터디 아이디
+     */
+    public synchronized void remove(long id)
+    {
+        Integer ordinal = ordinals.get(id);
+        if (ordinal == null || texts[ordinal] == null)
+        {
+            return;
+        }
+
+        for (String gram : grams(texts[ordinal]))
+        {
+            postings.computeIfPresent(gram, (key, current) -> {
+                int[] removed = delete(current, ordinal);
+                return removed.length == 0 ? null : removed;
+            });
+        }
+        texts[ordinal] = null;
+    }
+
+    /**
+     * 검색어를 부분 문자열로 포함하는 문서의 아이디를 반환한다.
+     * @param keyword 검색어
+     * @return 매칭된 스터디 아이디 배열 (순서 없음)
+     */
+    public long[] search(String keyword)
+    {
+        String query = normalize(keyword);
+        if (query.isEmpty())
+        {
+            return new long[0];
+        }
+
+        Set<String> queryGrams = query.length() == 1 ? Set.of(query) : bigrams(query);
+        int[][] lists = new int[queryGrams.size()][];
+        int idx = 0;
+        for (String gram : queryGrams)
+        {
+            int[] list = postings.get(gram);
+            if (list == null)
+            {
+                return new long[0];
+            }
+            lists[idx++] = list;
+        }
+
+        // 가장 짧은 목록부터 교집합을 구해 중간 결과를 작게 유지한다.
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+        int[] candidates = lists[0];
+        int size = candidates.length;
+        for (idx = 1; idx < lists.length && size > 0; idx++)
+        {
+            int[] next = new int[size];
+            size = intersect(candidates, size, lists[idx], next);
+            candidates = next;
+        }
+
+        long[] idSnapshot = this.ids;
+        String[][] textSnapshot = this.texts;
+        long[] result = new long[size];
+        int found = 0;
+        for (idx = 0; idx < size; idx++)
+        {
+            int ordinal = candidates[idx];
+            if (ordinal < textSnapshot.length && containsAny(textSnapshot[ordinal], query))
+            {
+                result[found++] = idSnapshot[ordinal];
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    /**
+     * 정렬된 두 배열의 교집합을 out 에 채우고 개수를 반환한다.
+     * 크기 차이가 크면 짧은 쪽 원소를 긴 쪽에서 이진 탐색하고, 비슷하면 병합한다.
+     * @param a 정렬된 배열
+     * @param aSize a 의 유효 길이
+     * @param b 정렬된 배열
+     * @param out 결과 배열 (aSize 이상)
+     * @return 교집합 크기
+     */
+    static int intersect(int[] a, int aSize, int[] b, int[] out)
+    {
+        int count = 0;
+        if (b.length > aSize * 8)
+        {
+            int from = 0;
+            for (int i = 0; i < aSize && from < b.length; i++)
+            {
+                int pos = Arrays.binarySearch(b, from, b.length, a[i]);
+                if (pos >= 0)
+                {
+                    out[count++] = a[i];
+                    from = pos + 1;
+                }
+                else
+                {
+                    from = -pos - 1;
+                }
+            }
+            return count;
+        }
+
+        int i = 0, j = 0;
+        while (i < aSize && j < b.length)
+        {
+            if (a[i] < b[j])
+            {
+                i++;
+            }
+            else if (a[i] > b[j])
+            {
+                j++;
+            }
+            else
+            {
+                out[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 색인된 문서 수
+     * @return
+     */
+    public synchronized int size()
+    {
+        int count = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++)
+        {
+            if (texts[ordinal] != null)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean containsAny(String[] fields, String query)
+    {
+        if (fields == null)
+        {
+            return false;
+        }
+        for (String field : fields)
+        {
+            if (field.contains(query))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> grams(String[] fields)
+    {
+        Set<String> grams = new HashSet<>();
+        for (String field : fields)
+        {
+            for (int idx = 0; idx < field.length(); idx++)
+            {
+                if (field.charAt(idx) != ' ')
+                {
+                    grams.add(field.substring(idx, idx + 1));
+                }
+            }
+            grams.addAll(bigrams(field));
+        }
+        return grams;
+    }
+
+    private static Set<String> bigrams(String text)
+    {
+        Set<String> grams = new HashSet<>();
+        for (int idx = 0; idx + 2 <= text.length(); idx++)
+        {
+            grams.add(text.substring(idx, idx + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * 소문자로 바꾸고 연속된 공백을 하나로 줄인다.
+     * @param text
+     * @return
+     */
+    static String normalize(String text)
+    {
+        if (text == null)
+        {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String[] normalize(Collection<String> fields)
+    {
+        return fields.stream()
+                        .map(NGramIndex::normalize)
+                        .filter(text -> !text.isEmpty())
+                        .toArray(String[]::new);
+    }
+
+    private static int[] sortedDistinct(int[] values)
+    {
+        Arrays.sort(values);
+        int size = 0;
+        for (int idx = 0; idx < values.length; idx++)
+        {
+            if (size == 0 || values[size - 1] != values[idx])
+            {
+                values[size++] = values[idx];
+            }
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private static int[] insert(int[] sorted, int value)
+    {
+        int pos = Arrays.binarySearch(sorted, value);
+        if (pos >= 0)
+        {
+            return sorted;
+        }
+        pos = -pos - 1;
+        int[] result = new int[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, pos);
+        result[pos] = value;
+        System.arraycopy(sorted, pos, result, pos + 1, sorted.length - pos);
+        return result;
+    }
+
+    private static int[] delete(int[] sorted, int value)
+    {
+        int pos = Arrays.binarySearch(sorted, value);
+        if (pos < 0)
+        {
+            return sorted;
+        }
+        if (sorted.length == 1)
+        {
+            return EMPTY;
+        }
+        int[] result = new int[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, pos);
+        System.arraycopy(sorted, pos + 1, result, pos, sorted.length - pos - 1);
+        return result;
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity <= ids.length)
+        {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        texts = Arrays.copyOf(texts, newCapacity);
+    }
+
+    /**
+     * 일괄 색인 중 n-gram 별 문서 번호를 모으는 버퍼
+     */
+    private static class IntBuffer
+    {
+        private int[] values = new int[8];
+        private int size = 0;
+
+        void add(int value)
+        {
+            if (size == values.length)
+            {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
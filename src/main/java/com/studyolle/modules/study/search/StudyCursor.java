@@ -0,0 +1,110 @@
+package com.studyolle.modules.study.search;
+
+import com.studyolle.modules.study.Study;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * <h1>스터디 검색 커서 클래스</h1>
+ *
+ * 키셋(seek) 페이징에서 기준이 되는 (정렬 키, 아이디) 쌍과 이동 방향을 담는다.<br>
+ * 화면에는 Base64 로 인코딩한 불투명한 문자열로만 노출된다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyCursor
+{
+    public static final String PUBLISHED_DATE_TIME = "publishedDateTime";
+    public static final String MEMBER_COUNT = "memberCount";
+
+    private static final String SEPARATOR = "|";
+
+    private final Direction direction;
+    private final String sortProperty;
+    private final LocalDateTime publishedDateTime;
+    private final int memberCount;
+    private final Long id;
+
+    public enum Direction
+    {
+        NEXT, PREV
+    }
+
+    /**
+     * 다음 페이지 커서 생성 메서드
+     * @param sortProperty 정렬 기준
+     * @param last 현재 페이지의 마지막 스터디
+     * @return
+     */
+    public static StudyCursor next(String sortProperty, Study last)
+    {
+        return new StudyCursor(Direction.NEXT, sortProperty, last.getPublishedDateTime(), last.getMemberCount(), last.getId());
+    }
+
+    /**
+     * 이전 페이지 커서 생성 메서드
+     * @param sortProperty 정렬 기준
+     * @param first 현재 페이지의 첫 번째 스터디
+     * @return
+     */
+    public static StudyCursor prev(String sortProperty, Study first)
+    {
+        return new StudyCursor(Direction.PREV, sortProperty, first.getPublishedDateTime(), first.getMemberCount(), first.getId());
+    }
+
+    public boolean isMemberCountSort()
+    {
+        return MEMBER_COUNT.equals(sortProperty);
+    }
+
+    /**
+     * 커서를 URL 에 사용할 수 있는 문자열로 인코딩한다.
+     * @return
+     */
+    public String encode()
+    {
+        String key = isMemberCountSort() ? String.valueOf(memberCount) : String.valueOf(publishedDateTime);
+        String raw = String.join(SEPARATOR, direction.name(), sortProperty, key, String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 인코딩된 커서를 해석한다.
+     * @param value 인코딩된 커서
+     * @return 해석한 커서, 비어있거나 잘못된 값이면 null
+     */
+    public static StudyCursor decode(String value)
+    {
+        if (value == null || value.isBlank())
+        {
+            return null;
+        }
+
+        try
+        {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] split = raw.split("\\|");
+            Direction direction = Direction.valueOf(split[0]);
+            String sortProperty = split[1];
+            Long id = Long.valueOf(split[3]);
+
+            if (MEMBER_COUNT.equals(sortProperty))
+            {
+                return new StudyCursor(direction, sortProperty, null, Integer.parseInt(split[2]), id);
+            }
+            if (PUBLISHED_DATE_TIME.equals(sortProperty))
+            {
+                return new StudyCursor(direction, sortProperty, LocalDateTime.parse(split[2]), 0, id);
+            }
+            return null;
+        }
+        catch (RuntimeException e)
+        {
+            return null;
+        }
+    }
+}
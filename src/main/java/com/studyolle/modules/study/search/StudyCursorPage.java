@@ -0,0 +1,36 @@
+package com.studyolle.modules.study.search;
+
+import com.studyolle.modules.study.Study;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * <h1>커서 기반 스터디 검색 결과 클래스</h1>
+ *
+ * 전체 건수를 세지 않으므로 총 페이지 수 대신 이전/다음 커서만 제공한다.
+ */
+@Getter
+public class StudyCursorPage
+{
+    private final List<Study> content;
+    private final String nextCursor;
+    private final String prevCursor;
+
+    public StudyCursorPage(List<Study> content, String sortProperty, boolean hasNext, boolean hasPrevious)
+    {
+        this.content = content;
+        this.nextCursor = hasNext && !content.isEmpty() ? StudyCursor.next(sortProperty, content.get(content.size() - 1)).encode() : null;
+        this.prevCursor = hasPrevious && !content.isEmpty() ? StudyCursor.prev(sortProperty, content.get(0)).encode() : null;
+    }
+
+    public boolean hasNext()
+    {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious()
+    {
+        return prevCursor != null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.studyolle.modules.study.search;
+
+import com.studyolle.modules.study.Study;
+import com.studyolle.modules.tag.Tag;
+import com.studyolle.modules.zone.Zone;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * <h1>검색 색인용 스터디 스냅샷 클래스</h1>
+ *
+ * 색인에 필요한 값만 복사해 둔 불변 객체로, 영속성 컨텍스트와 무관하게 여러 스레드에서 읽을 수 있다.<br>
+ * 연관도 점수 계산에 쓰도록 필드별 토큰도 미리 나눠 둔다.
+ */
+@Getter
+public class StudyDocument
+{
+    private final Long id;
+    private final String title;
+    private final String shortDescription;
+    private final List<String> tagTitles;
+    private final List<String> zoneNames;
+    private final LocalDateTime publishedDateTime;
+    private final int memberCount;
+    private final boolean recruiting;
+
+    private final List<String> titleTokens;
+    private final List<String> descriptionTokens;
+    private final List<String> tagTokens;
+    private final List<String> zoneTokens;
+
+    public StudyDocument(Long id, String title, String shortDescription, List<String> tagTitles, List<String> zoneNames,
+                         LocalDateTime publishedDateTime, int memberCount, boolean recruiting)
+    {
+        this.id = id;
+        this.title = title == null ? "" : title;
+        this.shortDescription = shortDescription == null ? "" : shortDescription;
+        this.tagTitles = List.copyOf(tagTitles);
+        this.zoneNames = List.copyOf(zoneNames);
+        this.publishedDateTime = publishedDateTime;
+        this.memberCount = memberCount;
+        this.recruiting = recruiting;
+
+        this.titleTokens = StudySearchIndex.tokenize(this.title);
+        this.descriptionTokens = StudySearchIndex.tokenize(this.shortDescription);
+        this.tagTokens = this.tagTitles.stream().flatMap(tag -> StudySearchIndex.tokenize(tag).stream()).collect(Collectors.toList());
+        this.zoneTokens = this.zoneNames.stream().flatMap(zone -> StudySearchIndex.tokenize(zone).stream()).collect(Collectors.toList());
+    }
+
+    /**
+     * 태그와 지역이 로딩된 스터디로부터 스냅샷을 생성한다.
+     * @param study 태그, 지역이 초기화된 스터디
+     * @return 스냅샷
+     */
+    public static StudyDocument from(Study study)
+    {
+        return new StudyDocument(study.getId(),
+                                study.getTitle(),
+                                study.getShortDescription(),
+                                study.getTags().stream().map(Tag::getTitle).collect(Collectors.toList()),
+                                study.getZones().stream().map(Zone::getLocalNameOfCity).collect(Collectors.toList()),
+                                study.getPublishedDateTime(),
+                                study.getMemberCount(),
+                                study.isRecruiting());
+    }
+}
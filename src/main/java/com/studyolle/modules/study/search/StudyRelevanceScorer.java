@@ -0,0 +1,134 @@
+package com.studyolle.modules.study.search;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <h1>스터디 연관도 점수 계산 클래스</h1>
+ *
+ * 필드 가중치를 적용한 BM25(BM25F 근사) 점수에 멤버 수와 공개일 최신성을 더한다.<br>
+ * 가중치는 이름 > 태그 > 지역 > 짧은 소개 순이다.
+ * 검색어 토큰은 색인과 같이 접두어로 매칭하고, 토큰으로는 매칭되지 않고 부분 문자열로만 매칭된 스터디는
+ * 검색어 전체를 포함하는 필드에 tf 1 을 준다.
+ */
+class StudyRelevanceScorer
+{
+    static final double TITLE_WEIGHT = 4.0;
+    static final double TAG_WEIGHT = 3.0;
+    static final double ZONE_WEIGHT = 2.0;
+    static final double DESCRIPTION_WEIGHT = 1.0;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final double MEMBER_WEIGHT = 0.3;
+    private static final double RECENCY_WEIGHT = 1.0;
+    private static final double RECENCY_HALF_LIFE_DAYS = 30.0;
+
+    private final List<String> queryTokens;
+    private final String query;
+    private final Map<String, Double> idf;
+    private final StudySearchIndex.FieldStats stats;
+    private final LocalDateTime now;
+
+    /**
+     * @param queryTokens 검색어 토큰
+     * @param query 정규화한 검색어 전체
+     * @param idf 토큰별 역문서빈도
+     * @param stats 필드별 평균 길이 계산용 통계
+     * @param now 최신성 기준 시각
+     */
+    StudyRelevanceScorer(List<String> queryTokens, String query, Map<String, Double> idf, StudySearchIndex.FieldStats stats, LocalDateTime now)
+    {
+        this.queryTokens = queryTokens;
+        this.query = query;
+        this.idf = idf;
+        this.stats = stats;
+        this.now = now;
+    }
+
+    /**
+     * 역문서빈도 (BM25 의 +1 변형이라 항상 양수)
+     * @param documentCount 전체 문서 수
+     * @param documentFrequency 토큰이 매칭되는 문서 수
+     * @return
+     */
+    static double idf(int documentCount, int documentFrequency)
+    {
+        return Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    double score(StudyDocument document)
+    {
+        double textScore = 0;
+        for (String token : queryTokens)
+        {
+            double tf = TITLE_WEIGHT * normalizedTf(document.getTitleTokens(), token, stats.averageTitleLength())
+                        + TAG_WEIGHT * normalizedTf(document.getTagTokens(), token, stats.averageTagLength())
+                        + ZONE_WEIGHT * normalizedTf(document.getZoneTokens(), token, stats.averageZoneLength())
+                        + DESCRIPTION_WEIGHT * normalizedTf(document.getDescriptionTokens(), token, stats.averageDescriptionLength());
+            textScore += idf.getOrDefault(token, 0.0) * tf * (K1 + 1) / (tf + K1);
+        }
+
+        if (textScore == 0)
+        {
+            textScore = substringScore(document);
+        }
+
+        return textScore + MEMBER_WEIGHT * Math.log1p(document.getMemberCount()) + RECENCY_WEIGHT * recency(document);
+    }
+
+    private double substringScore(StudyDocument document)
+    {
+        double tf = 0;
+        if (document.getTitle().toLowerCase(Locale.ROOT).contains(query))
+        {
+            tf += TITLE_WEIGHT;
+        }
+        if (document.getTagTitles().stream().anyMatch(tag -> tag.toLowerCase(Locale.ROOT).contains(query)))
+        {
+            tf += TAG_WEIGHT;
+        }
+        if (document.getZoneNames().stream().anyMatch(zone -> zone.toLowerCase(Locale.ROOT).contains(query)))
+        {
+            tf += ZONE_WEIGHT;
+        }
+        return tf * (K1 + 1) / (tf + K1);
+    }
+
+    private double normalizedTf(List<String> fieldTokens, String token, double averageLength)
+    {
+        int tf = 0;
+        for (String fieldToken : fieldTokens)
+        {
+            if (fieldToken.startsWith(token))
+            {
+                tf++;
+            }
+        }
+        if (tf == 0)
+        {
+            return 0;
+        }
+        double lengthRatio = averageLength > 0 ? fieldTokens.size() / averageLength : 1;
+        return tf / (1 - B + B * lengthRatio);
+    }
+
+    /**
+     * 공개일로부터 지난 기간에 따라 반감기 30일로 1 에서 0 으로 줄어든다.
+     * @param document
+     * @return
+     */
+    private double recency(StudyDocument document)
+    {
+        if (document.getPublishedDateTime() == null)
+        {
+            return 0;
+        }
+        double ageDays = Math.max(0, Duration.between(document.getPublishedDateTime(), now).toMinutes() / (60.0 * 24));
+        return Math.pow(0.5, ageDays / RECENCY_HALF_LIFE_DAYS);
+    }
+}
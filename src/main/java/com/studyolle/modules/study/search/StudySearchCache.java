@@ -0,0 +1,252 @@
+package com.studyolle.modules.study.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.LongSupplier;
+
+/**
+ * <h1>스터디 검색 결과 캐시 클래스</h1>
+ *
+ * (정규화한 검색어, 태그/지역 필터, 정렬, 페이지 번호, 페이지 크기) 별로 검색 결과 페이지의 스터디 아이디 목록과 전체 건수만 보관한다.<br>
+ * 엔티티는 보관하지 않으므로 적중해도 해당 페이지의 스터디는 아이디로 다시 조회한다.<br>
+ * 최대 항목 수를 넘으면 가장 오래 사용하지 않은 항목부터 버리고(LRU), 유효 시간이 지난 항목은 조회 시 버린다.<br>
+ * 스터디가 변경되면 변경 전/후 스터디와 매칭되는 검색어의 항목만 무효화한다. 필터는 결과를 좁히기만 하므로 필터가 다른 항목도 검색어 기준으로 함께 무효화한다.
+ *
+ * <pre>
+ * study.search.cache.gets{result=hit|miss} : 조회 수
+ * study.search.cache.evictions             : 무효화된 항목 수
+ * study.search.cache.size                  : 현재 항목 수
+ * </pre>
+ *
+ * @see StudySearchIndexer
+ */
+@Component
+public class StudySearchCache
+{
+    private final StudySearchProperties.Cache properties;
+
+    private final LongSupplier nanoTime;
+
+    private final LinkedHashMap<Key, Entry> entries;
+
+    /**
+     * 무효화할 때마다 증가한다. 조회를 시작한 뒤 무효화가 있었으면 그 조회 결과는 저장하지 않는다.
+     */
+    private long generation = 0;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public StudySearchCache(StudySearchProperties studySearchProperties, MeterRegistry meterRegistry)
+    {
+        this(studySearchProperties.getCache(), meterRegistry, System::nanoTime);
+    }
+
+    StudySearchCache(StudySearchProperties.Cache properties, MeterRegistry meterRegistry, LongSupplier nanoTime)
+    {
+        this.properties = properties;
+        this.nanoTime = nanoTime;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest)
+            {
+                return size() > properties.getMaxSize();
+            }
+        };
+
+        this.hits = Counter.builder("study.search.cache.gets").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("study.search.cache.gets").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("study.search.cache.evictions").register(meterRegistry);
+        Gauge.builder("study.search.cache.size", this, StudySearchCache::size).register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 아이디 페이지를 반환한다.
+     * @param keyword 검색어
+     * @param pageable 페이지 정보
+     * @return 없거나 만료되었으면 null
+     */
+    public Page<Long> get(String keyword, Pageable pageable)
+    {
+        return get(keyword, StudySearchFilter.none(), pageable);
+    }
+
+    /**
+     * 필터를 적용한 검색 결과의 캐시된 아이디 페이지를 반환한다.
+     * @param keyword 검색어
+     * @param filter 태그, 지역 필터
+     * @param pageable 페이지 정보
+     * @return 없거나 만료되었으면 null
+     */
+    public synchronized Page<Long> get(String keyword, StudySearchFilter filter, Pageable pageable)
+    {
+        if (!properties.isEnabled())
+        {
+            return null;
+        }
+
+        Key key = Key.of(keyword, filter, pageable);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt - nanoTime.getAsLong() <= 0)
+        {
+            entries.remove(key);
+            entry = null;
+        }
+
+        if (entry == null)
+        {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return new PageImpl<>(entry.ids, pageable, entry.total);
+    }
+
+    /**
+     * 현재 세대. 조회 전에 읽어 두었다가 {@link #put(String, StudySearchFilter, Pageable, Page, long)} 에 넘긴다.
+     * @return
+     */
+    public synchronized long generation()
+    {
+        return generation;
+    }
+
+    /**
+     * 검색 결과 아이디 페이지를 저장한다.
+     * @param keyword 검색어
+     * @param pageable 페이지 정보
+     * @param ids 검색 결과 아이디 페이지
+     * @param generation 조회를 시작할 때의 세대
+     */
+    public void put(String keyword, Pageable pageable, Page<Long> ids, long generation)
+    {
+        put(keyword, StudySearchFilter.none(), pageable, ids, generation);
+    }
+
+    /**
+     * 필터를 적용한 검색 결과 아이디 페이지를 저장한다.
+     * @param keyword 검색어
+     * @param filter 태그, 지역 필터
+     * @param pageable 페이지 정보
+     * @param ids 검색 결과 아이디 페이지
+     * @param generation 조회를 시작할 때의 세대
+     */
+    public synchronized void put(String keyword, StudySearchFilter filter, Pageable pageable, Page<Long> ids, long generation)
+    {
+        if (!properties.isEnabled() || generation != this.generation)
+        {
+            return;
+        }
+
+        long expiresAt = nanoTime.getAsLong() + properties.getTtl().toNanos();
+        entries.put(Key.of(keyword, filter, pageable), new Entry(List.copyOf(ids.getContent()), ids.getTotalElements(), expiresAt));
+    }
+
+    /**
+     * 변경된 스터디의 영향을 받는 검색어의 항목을 모두 제거한다.<br>
+     * 변경 전/후 스냅샷 중 하나라도 검색어와 매칭되거나, 캐시된 페이지에 해당 스터디가 들어 있던 검색어가 대상이다.
+     * 같은 검색어의 다른 페이지도 순서가 밀리므로 함께 제거한다.
+     * @param studyId 변경된 스터디 아이디
+     * @param snapshots 변경 전/후 스냅샷 (없으면 생략)
+     */
+    public synchronized void evict(Long studyId, Collection<StudyDocument> snapshots)
+    {
+        generation++;
+
+        Set<String> keywords = new HashSet<>();
+        for (Map.Entry<Key, Entry> each : entries.entrySet())
+        {
+            String keyword = each.getKey().keyword;
+            if (keywords.contains(keyword))
+            {
+                continue;
+            }
+            if (each.getValue().ids.contains(studyId) || snapshots.stream().anyMatch(snapshot -> matches(keyword, snapshot)))
+            {
+                keywords.add(keyword);
+            }
+        }
+
+        int before = entries.size();
+        entries.keySet().removeIf(key -> keywords.contains(key.keyword));
+        evictions.increment(before - entries.size());
+    }
+
+    /**
+     * 전체 항목 제거
+     */
+    public synchronized void clear()
+    {
+        generation++;
+        evictions.increment(entries.size());
+        entries.clear();
+    }
+
+    public synchronized int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * 검색어가 스터디와 매칭될 수 있는지 판단한다.<br>
+     * JPQL 검색(부분 문자열)과 색인 검색(토큰 접두어)의 매칭을 모두 포함하도록 넓게 판단하므로
+     * 실제로는 매칭되지 않는 검색어가 무효화될 수는 있어도 매칭되는 검색어가 남지는 않는다.
+     * @param keyword 정규화한 검색어
+     * @param document 스터디 스냅샷
+     * @return
+     */
+    static boolean matches(String keyword, StudyDocument document)
+    {
+        if (keyword.isEmpty())
+        {
+            return true;
+        }
+
+        StringJoiner text = new StringJoiner("\n");
+        text.add(document.getTitle()).add(document.getShortDescription());
+        document.getTagTitles().forEach(text::add);
+        document.getZoneNames().forEach(text::add);
+        String haystack = text.toString().toLowerCase(Locale.ROOT);
+
+        return haystack.contains(keyword)
+                || StudySearchIndex.tokenize(keyword).stream().anyMatch(haystack::contains);
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key
+    {
+        private final String keyword;
+        private final StudySearchFilter filter;
+        private final String sort;
+        private final int page;
+        private final int size;
+
+        static Key of(String keyword, StudySearchFilter filter, Pageable pageable)
+        {
+            return new Key(NGramIndex.normalize(keyword), filter, pageable.getSort().toString(), pageable.getPageNumber(), pageable.getPageSize());
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Entry
+    {
+        private final List<Long> ids;
+        private final long total;
+        private final long expiresAt;
+    }
+}
@@ -0,0 +1,40 @@
+package com.studyolle.modules.study.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h1>스터디 검색 패싯 클래스</h1>
+ *
+ * 검색 결과 전체에 대한 태그별, 지역별 스터디 수 상위 항목과 모집 중 여부별 스터디 수
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudySearchFacets
+{
+    private final List<FacetCount> tags;
+    private final List<FacetCount> zones;
+    private final int recruiting;
+    private final int notRecruiting;
+
+    public static StudySearchFacets empty()
+    {
+        return new StudySearchFacets(Collections.emptyList(), Collections.emptyList(), 0, 0);
+    }
+
+    public boolean isEmpty()
+    {
+        return recruiting + notRecruiting == 0;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class FacetCount
+    {
+        private final String name;
+        private final int count;
+    }
+}
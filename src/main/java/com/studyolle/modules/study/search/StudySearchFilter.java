@@ -0,0 +1,56 @@
+package com.studyolle.modules.study.search;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h1>스터디 검색 필터 클래스</h1>
+ *
+ * 검색어 결과를 패싯의 태그 이름, 지역 이름과 정확히 일치하는 스터디로 좁힌다.<br>
+ * 비어 있는 값은 필터로 쓰지 않는다.
+ */
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class StudySearchFilter
+{
+    private static final StudySearchFilter NONE = new StudySearchFilter(null, null);
+
+    private final String tag;
+    private final String zone;
+
+    public static StudySearchFilter none()
+    {
+        return NONE;
+    }
+
+    /**
+     * @param tag 태그 이름, 없으면 null 또는 빈 문자열
+     * @param zone 지역 이름(localNameOfCity), 없으면 null 또는 빈 문자열
+     * @return
+     */
+    public static StudySearchFilter of(String tag, String zone)
+    {
+        String tagFilter = tag == null || tag.isBlank() ? null : tag.strip();
+        String zoneFilter = zone == null || zone.isBlank() ? null : zone.strip();
+        return tagFilter == null && zoneFilter == null ? NONE : new StudySearchFilter(tagFilter, zoneFilter);
+    }
+
+    public boolean isEmpty()
+    {
+        return tag == null && zone == null;
+    }
+
+    /**
+     * 색인된 스냅샷이 필터 조건을 만족하는지 판단한다.
+     * @param document
+     * @return
+     */
+    public boolean matches(StudyDocument document)
+    {
+        return (tag == null || document.getTagTitles().contains(tag))
+                && (zone == null || document.getZoneNames().contains(zone));
+    }
+}
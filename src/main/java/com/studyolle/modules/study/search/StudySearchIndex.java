@@ -0,0 +1,643 @@
+package com.studyolle.modules.study.search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * <h1>스터디 검색 역색인 클래스</h1>
+ *
+ * 공개된 스터디의 이름, 짧은 소개, 태그, 지역 이름을 토큰으로 나눠 토큰 → 스터디 아이디 목록으로 보관한다.<br>
+ * 용어 사전은 정렬된 맵이라 검색어 토큰은 접두어로 매칭된다. ("안산" → "안산시")<br>
+ * 이름, 태그, 지역은 {@link NGramIndex} 에도 색인해 검색어 전체가 부분 문자열로 포함된 스터디도 찾는다.<br>
+ * 쓰기는 직렬화하고 읽기는 잠금 없이 수행한다.
+ * 전체 재색인은 새 {@link Segment} 를 따로 만든 뒤 참조 하나만 바꿔 끼우므로, 재색인 중에도 검색은 이전 색인 전체를 본다.
+ *
+ * @see StudySearchIndexer
+ */
+@Component
+public class StudySearchIndex
+{
+    private volatile Segment segment = new Segment();
+
+    private volatile boolean ready = false;
+
+    /**
+     * 색인 초기화 완료 여부
+     * @return 전체 색인이 한 번 이상 완료되었으면 true
+     */
+    public boolean isReady()
+    {
+        return ready;
+    }
+
+    /**
+     * 색인 전체를 교체한다.
+     * 새 색인은 잠금 없이 따로 만들고 완성된 뒤에 교체하므로 그 동안의 검색은 이전 색인을 그대로 사용한다.
+     * 만드는 동안 {@link #index}, {@link #remove} 로 반영된 변경은 이전 색인에만 반영되므로, 호출하는 쪽에서 교체 후 다시 반영해야 한다.
+     * @param all 공개된 전체 스터디 스냅샷
+     * @see StudySearchIndexer#buildIndex()
+     */
+    public void rebuild(Collection<StudyDocument> all)
+    {
+        Segment next = new Segment();
+        next.addAll(all);
+        synchronized (this)
+        {
+            segment = next;
+            ready = true;
+        }
+    }
+
+    /**
+     * 스터디를 색인에 추가하거나 갱신한다.
+     * @param document 색인할 스냅샷
+     * @return 갱신 전 스냅샷, 없었으면 null
+     */
+    public synchronized StudyDocument index(StudyDocument document)
+    {
+        StudyDocument old = segment.remove(document.getId());
+        segment.add(document);
+        return old;
+    }
+
+    /**
+     * 스터디를 색인에서 제거한다.
+     * @param studyId 제거할 스터디 아이디
+     * @return 제거된 스냅샷, 없었으면 null
+     */
+    public synchronized StudyDocument remove(Long studyId)
+    {
+        return segment.remove(studyId);
+    }
+
+    /**
+     * 색인된 스냅샷 조회 메서드
+     * @param studyId
+     * @return
+     */
+    public StudyDocument get(Long studyId)
+    {
+        return segment.documents.get(studyId);
+    }
+
+    /**
+     * 검색어의 모든 토큰을 포함하는 스터디를 정렬 조건대로 반환한다.
+     * @param keyword 검색어
+     * @param sort 정렬 조건 (publishedDateTime, memberCount 지원)
+     * @return 정렬된 스냅샷 목록
+     */
+    public List<StudyDocument> search(String keyword, Sort sort)
+    {
+        return search(keyword, StudySearchFilter.none(), sort);
+    }
+
+    /**
+     * 검색어의 모든 토큰을 포함하고 필터 조건을 만족하는 스터디를 정렬 조건대로 반환한다.
+     * @param keyword 검색어
+     * @param filter 태그, 지역 필터
+     * @param sort 정렬 조건 (publishedDateTime, memberCount 지원)
+     * @return 정렬된 스냅샷 목록
+     */
+    public List<StudyDocument> search(String keyword, StudySearchFilter filter, Sort sort)
+    {
+        Segment current = segment;
+        List<StudyDocument> result = new ArrayList<>();
+        for (Long id : match(current, keyword, filter))
+        {
+            StudyDocument document = current.documents.get(id);
+            if (document != null)
+            {
+                result.add(document);
+            }
+        }
+        result.sort(comparator(sort));
+        return result;
+    }
+
+    /**
+     * 검색어에 매칭되는 스터디를 연관도 순으로 반환한다.
+     * 전체를 정렬하지 않고 (offset + size) 크기의 최소 힙으로 상위 k 건만 유지한다.
+     * @param keyword 검색어
+     * @param pageable 페이지 정보 (정렬 조건은 무시)
+     * @return 연관도 순 페이지
+     * @see StudyRelevanceScorer
+     */
+    public Page<StudyDocument> searchByRelevance(String keyword, Pageable pageable)
+    {
+        return searchByRelevance(keyword, StudySearchFilter.none(), pageable);
+    }
+
+    /**
+     * 검색어에 매칭되고 필터 조건을 만족하는 스터디를 연관도 순으로 반환한다.
+     * @param keyword 검색어
+     * @param filter 태그, 지역 필터
+     * @param pageable 페이지 정보 (정렬 조건은 무시)
+     * @return 연관도 순 페이지
+     * @see #searchByRelevance(String, Pageable)
+     */
+    public Page<StudyDocument> searchByRelevance(String keyword, StudySearchFilter filter, Pageable pageable)
+    {
+        Segment current = segment;
+        Set<Long> matched = match(current, keyword, filter);
+        int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), matched.size());
+        if (limit <= pageable.getOffset())
+        {
+            return new PageImpl<>(Collections.emptyList(), pageable, matched.size());
+        }
+
+        StudyRelevanceScorer scorer = scorer(current, keyword);
+
+        PriorityQueue<ScoredDocument> heap = new PriorityQueue<>(limit);
+        for (Long id : matched)
+        {
+            StudyDocument document = current.documents.get(id);
+            if (document == null)
+            {
+                continue;
+            }
+
+            ScoredDocument scored = new ScoredDocument(document, scorer.score(document));
+            if (heap.size() < limit)
+            {
+                heap.offer(scored);
+            }
+            else if (scored.compareTo(heap.peek()) > 0)
+            {
+                heap.poll();
+                heap.offer(scored);
+            }
+        }
+
+        List<StudyDocument> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty())
+        {
+            top.add(heap.poll().document);
+        }
+        Collections.reverse(top);
+
+        int from = (int) Math.min(pageable.getOffset(), top.size());
+        return new PageImpl<>(top.subList(from, top.size()), pageable, matched.size());
+    }
+
+    /**
+     * 검색 결과 전체에 대한 패싯을 한 번의 순회로 집계한다.
+     * 태그, 지역은 사전 번호를 인덱스로 하는 int 배열에 센다.
+     * @param keyword 검색어
+     * @param limit 태그, 지역별로 반환할 최대 항목 수
+     * @return 패싯
+     */
+    public StudySearchFacets facets(String keyword, int limit)
+    {
+        return facets(keyword, StudySearchFilter.none(), limit);
+    }
+
+    /**
+     * 필터로 좁힌 검색 결과 전체에 대한 패싯을 집계한다.
+     * @param keyword 검색어
+     * @param filter 태그, 지역 필터
+     * @param limit 태그, 지역별로 반환할 최대 항목 수
+     * @return 패싯
+     */
+    public StudySearchFacets facets(String keyword, StudySearchFilter filter, int limit)
+    {
+        Segment current = segment;
+        String[] tagNames = current.tagDictionary.names();
+        String[] zoneNames = current.zoneDictionary.names();
+        int[] tagCounts = new int[tagNames.length];
+        int[] zoneCounts = new int[zoneNames.length];
+        int recruiting = 0;
+        int notRecruiting = 0;
+
+        for (Long id : match(current, keyword, filter))
+        {
+            StudyDocument document = current.documents.get(id);
+            if (document == null)
+            {
+                continue;
+            }
+
+            for (String tag : document.getTagTitles())
+            {
+                count(tagCounts, current.tagDictionary.ordinal(tag));
+            }
+            for (String zone : document.getZoneNames())
+            {
+                count(zoneCounts, current.zoneDictionary.ordinal(zone));
+            }
+            if (document.isRecruiting())
+            {
+                recruiting++;
+            }
+            else
+            {
+                notRecruiting++;
+            }
+        }
+
+        return new StudySearchFacets(top(tagNames, tagCounts, limit), top(zoneNames, zoneCounts, limit), recruiting, notRecruiting);
+    }
+
+    private static void count(int[] counts, int ordinal)
+    {
+        // 집계 도중 새로 추가된 값은 배열 밖이므로 건너뛴다.
+        if (ordinal >= 0 && ordinal < counts.length)
+        {
+            counts[ordinal]++;
+        }
+    }
+
+    private static List<StudySearchFacets.FacetCount> top(String[] names, int[] counts, int limit)
+    {
+        if (limit <= 0)
+        {
+            return Collections.emptyList();
+        }
+
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Comparator.comparingInt((Integer ordinal) -> counts[ordinal]));
+        for (int ordinal = 0; ordinal < counts.length; ordinal++)
+        {
+            if (counts[ordinal] == 0)
+            {
+                continue;
+            }
+            if (heap.size() < limit)
+            {
+                heap.offer(ordinal);
+            }
+            else if (counts[ordinal] > counts[heap.peek()])
+            {
+                heap.poll();
+                heap.offer(ordinal);
+            }
+        }
+
+        List<StudySearchFacets.FacetCount> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty())
+        {
+            int ordinal = heap.poll();
+            result.add(new StudySearchFacets.FacetCount(names[ordinal], counts[ordinal]));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private StudyRelevanceScorer scorer(Segment current, String keyword)
+    {
+        List<String> tokens = tokenize(keyword);
+        int documentCount = current.documents.size();
+
+        Map<String, Double> idf = new HashMap<>();
+        for (String token : tokens)
+        {
+            idf.put(token, StudyRelevanceScorer.idf(documentCount, current.prefixMatch(token).size()));
+        }
+
+        FieldStats stats = new FieldStats(documentCount, current.titleLengthSum, current.tagLengthSum,
+                                          current.zoneLengthSum, current.descriptionLengthSum);
+        return new StudyRelevanceScorer(tokens, NGramIndex.normalize(keyword), idf, stats, LocalDateTime.now());
+    }
+
+    /**
+     * 검색어에 매칭되는 스터디 아이디 집합을 반환한다.
+     * 모든 토큰이 접두어로 매칭되거나, 검색어 전체가 이름/태그/지역에 부분 문자열로 포함되면 매칭된다.
+     * @param keyword 검색어
+     * @return 매칭된 아이디 집합
+     */
+    public Set<Long> match(String keyword)
+    {
+        return match(segment, keyword);
+    }
+
+    private static Set<Long> match(Segment current, String keyword, StudySearchFilter filter)
+    {
+        Set<Long> matched = match(current, keyword);
+        if (filter.isEmpty())
+        {
+            return matched;
+        }
+
+        Set<Long> result = new HashSet<>();
+        for (Long id : matched)
+        {
+            StudyDocument document = current.documents.get(id);
+            if (document != null && filter.matches(document))
+            {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private static Set<Long> match(Segment current, String keyword)
+    {
+        Set<Long> result = matchTokens(current, keyword);
+        long[] substringMatches = current.nGramIndex.search(keyword);
+        if (substringMatches.length > 0)
+        {
+            result = new HashSet<>(result);
+            for (long id : substringMatches)
+            {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private static Set<Long> matchTokens(Segment current, String keyword)
+    {
+        List<String> tokens = tokenize(keyword);
+        if (tokens.isEmpty())
+        {
+            return Collections.emptySet();
+        }
+
+        List<Set<Long>> candidates = new ArrayList<>(tokens.size());
+        for (String token : tokens)
+        {
+            Set<Long> ids = current.prefixMatch(token);
+            if (ids.isEmpty())
+            {
+                return Collections.emptySet();
+            }
+            candidates.add(ids);
+        }
+
+        // 가장 작은 집합부터 교집합을 구한다.
+        candidates.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(candidates.get(0));
+        for (int idx = 1; idx < candidates.size() && !result.isEmpty(); idx++)
+        {
+            result.retainAll(candidates.get(idx));
+        }
+        return result;
+    }
+
+    /**
+     * 문자와 숫자가 아닌 글자를 구분자로 소문자 토큰을 만든다.
+     * @param text
+     * @return
+     */
+    static List<String> tokenize(String text)
+    {
+        if (text == null || text.isBlank())
+        {
+            return Collections.emptyList();
+        }
+
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int idx = 0; idx < text.length(); idx++)
+        {
+            char ch = text.charAt(idx);
+            if (Character.isLetterOrDigit(ch))
+            {
+                current.append(Character.toLowerCase(ch));
+            }
+            else if (current.length() > 0)
+            {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0)
+        {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    static String normalize(String text)
+    {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Spring Data 의 Sort 를 스냅샷 비교자로 변환한다. 동률이면 최신 아이디가 먼저 온다.
+     * @param sort
+     * @return
+     */
+    static Comparator<StudyDocument> comparator(Sort sort)
+    {
+        Comparator<StudyDocument> comparator = null;
+        for (Sort.Order order : sort)
+        {
+            Comparator<StudyDocument> next;
+            if ("memberCount".equals(order.getProperty()))
+            {
+                next = Comparator.comparingInt(StudyDocument::getMemberCount);
+            }
+            else if ("publishedDateTime".equals(order.getProperty()))
+            {
+                next = Comparator.comparing(StudyDocument::getPublishedDateTime, Comparator.nullsFirst(Comparator.naturalOrder()));
+            }
+            else
+            {
+                continue;
+            }
+            next = order.isDescending() ? next.reversed() : next;
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+
+        if (comparator == null)
+        {
+            comparator = Comparator.comparing(StudyDocument::getPublishedDateTime, Comparator.nullsFirst(Comparator.naturalOrder())).reversed();
+        }
+        return comparator.thenComparing(StudyDocument::getId, Comparator.reverseOrder());
+    }
+
+    /**
+     * 색인된 스터디 수
+     * @return
+     */
+    public int size()
+    {
+        return segment.documents.size();
+    }
+
+    /**
+     * 한 시점의 색인 전체. 검색은 시작할 때의 Segment 하나만 읽는다.
+     */
+    private static class Segment
+    {
+        private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+
+        private final Map<Long, StudyDocument> documents = new ConcurrentHashMap<>();
+
+        private final NGramIndex nGramIndex = new NGramIndex();
+
+        private final FacetDictionary tagDictionary = new FacetDictionary();
+        private final FacetDictionary zoneDictionary = new FacetDictionary();
+
+        private volatile long titleLengthSum;
+        private volatile long tagLengthSum;
+        private volatile long zoneLengthSum;
+        private volatile long descriptionLengthSum;
+
+        private Set<Long> prefixMatch(String token)
+        {
+            Map<String, Set<Long>> range = postings.subMap(token, true, token + Character.MAX_VALUE, false);
+            if (range.isEmpty())
+            {
+                return Collections.emptySet();
+            }
+
+            Set<Long> union = new HashSet<>();
+            range.values().forEach(union::addAll);
+            return union;
+        }
+
+        private void add(StudyDocument document)
+        {
+            documents.put(document.getId(), document);
+            addLengths(document, 1);
+            document.getTagTitles().forEach(tagDictionary::add);
+            document.getZoneNames().forEach(zoneDictionary::add);
+            nGramIndex.put(document.getId(), substringFields(document));
+            terms(document).forEach(term -> postings.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(document.getId()));
+        }
+
+        /**
+         * 문서를 한 번에 추가한다. n-gram 색인은 일괄 색인으로 만든다.
+         * @param all
+         */
+        private void addAll(Collection<StudyDocument> all)
+        {
+            Map<Long, List<String>> substringFields = new HashMap<>();
+            for (StudyDocument document : all)
+            {
+                documents.put(document.getId(), document);
+                addLengths(document, 1);
+                document.getTagTitles().forEach(tagDictionary::add);
+                document.getZoneNames().forEach(zoneDictionary::add);
+                substringFields.put(document.getId(), substringFields(document));
+                terms(document).forEach(term -> postings.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(document.getId()));
+            }
+            nGramIndex.putAll(substringFields);
+        }
+
+        private StudyDocument remove(Long studyId)
+        {
+            StudyDocument old = documents.remove(studyId);
+            if (old != null)
+            {
+                terms(old).forEach(term -> postings.computeIfPresent(term, (key, ids) -> {
+                    ids.remove(studyId);
+                    return ids.isEmpty() ? null : ids;
+                }));
+                nGramIndex.remove(studyId);
+                addLengths(old, -1);
+            }
+            return old;
+        }
+
+        private void addLengths(StudyDocument document, int sign)
+        {
+            titleLengthSum += sign * document.getTitleTokens().size();
+            tagLengthSum += sign * document.getTagTokens().size();
+            zoneLengthSum += sign * document.getZoneTokens().size();
+            descriptionLengthSum += sign * document.getDescriptionTokens().size();
+        }
+
+        private static List<String> substringFields(StudyDocument document)
+        {
+            List<String> fields = new ArrayList<>();
+            fields.add(document.getTitle());
+            fields.addAll(document.getTagTitles());
+            fields.addAll(document.getZoneNames());
+            return fields;
+        }
+
+        private static Set<String> terms(StudyDocument document)
+        {
+            Set<String> terms = new HashSet<>();
+            terms.addAll(tokenize(document.getTitle()));
+            terms.addAll(tokenize(document.getShortDescription()));
+            document.getTagTitles().forEach(title -> {
+                terms.addAll(tokenize(title));
+                terms.add(normalize(title));
+            });
+            document.getZoneNames().forEach(name -> {
+                terms.addAll(tokenize(name));
+                terms.add(normalize(name));
+            });
+            terms.remove("");
+            return terms;
+        }
+    }
+
+    /**
+     * 필드별 평균 토큰 수 계산용 통계
+     */
+    static class FieldStats
+    {
+        private final int documentCount;
+        private final long titleLengthSum;
+        private final long tagLengthSum;
+        private final long zoneLengthSum;
+        private final long descriptionLengthSum;
+
+        FieldStats(int documentCount, long titleLengthSum, long tagLengthSum, long zoneLengthSum, long descriptionLengthSum)
+        {
+            this.documentCount = documentCount;
+            this.titleLengthSum = titleLengthSum;
+            this.tagLengthSum = tagLengthSum;
+            this.zoneLengthSum = zoneLengthSum;
+            this.descriptionLengthSum = descriptionLengthSum;
+        }
+
+        double averageTitleLength()
+        {
+            return average(titleLengthSum);
+        }
+
+        double averageTagLength()
+        {
+            return average(tagLengthSum);
+        }
+
+        double averageZoneLength()
+        {
+            return average(zoneLengthSum);
+        }
+
+        double averageDescriptionLength()
+        {
+            return average(descriptionLengthSum);
+        }
+
+        private double average(long sum)
+        {
+            return documentCount == 0 ? 0 : (double) sum / documentCount;
+        }
+    }
+
+    /**
+     * 힙에 담기 위한 점수와 스냅샷 쌍. 점수가 같으면 최신 아이디가 크다.
+     */
+    private static class ScoredDocument implements Comparable<ScoredDocument>
+    {
+        private final StudyDocument document;
+        private final double score;
+
+        ScoredDocument(StudyDocument document, double score)
+        {
+            this.document = document;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(ScoredDocument other)
+        {
+            int compare = Double.compare(score, other.score);
+            return compare != 0 ? compare : Long.compare(document.getId(), other.document.getId());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.studyolle.modules.study.search;
+
+import com.studyolle.modules.study.Study;
+import com.studyolle.modules.study.StudyRepository;
+import com.studyolle.modules.study.event.StudyChangedEvent;
+import com.studyolle.modules.study.event.StudyCreatedEvent;
+import com.studyolle.modules.study.event.StudyUpdateEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h1>스터디 검색 색인 관리 클래스</h1>
+ *
+ * 애플리케이션 기동 시 공개된 스터디 전체를 색인하고, 이후에는 스터디 이벤트가 커밋된 뒤 해당 스터디만 다시 색인한다.<br>
+ * 자동완성 트라이도 같은 시점에 함께 갱신하고, 변경된 스터디와 매칭되는 검색 결과 캐시 항목을 무효화한다.<br>
+ * 전체 색인은 시작할 때의 스냅샷으로 만들어지므로, 만드는 동안 다시 색인된 스터디는 교체가 끝난 뒤 한 번 더 색인해 최신 상태를 덮어쓰지 않게 한다.
+ *
+ * @see StudySearchIndex
+ * @see StudyTitleTrie
+ * @see StudySearchCache
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StudySearchIndexer
+{
+    private static final int CHUNK_SIZE = 500;
+
+    private final StudyRepository studyRepository;
+    private final StudySearchIndex studySearchIndex;
+    private final StudyTitleTrie studyTitleTrie;
+    private final StudySearchCache studySearchCache;
+
+    /**
+     * 전체 색인 중에 다시 색인된 스터디 아이디
+     */
+    private final Set<Long> changedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean building = false;
+
+    /**
+     * 전체 색인 메서드
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex()
+    {
+        long start = System.currentTimeMillis();
+        changedDuringBuild.clear();
+        building = true;
+
+        List<StudyDocument> documents;
+        try
+        {
+            List<Long> ids = studyRepository.findIdsByPublishedTrue();
+            documents = new ArrayList<>(ids.size());
+            List<StudySuggestion> suggestions = new ArrayList<>(ids.size());
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE)
+            {
+                List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+                studyRepository.findStudyWithTagsAndZonesByIdIn(chunk)
+                                .forEach(study -> {
+                                    documents.add(StudyDocument.from(study));
+                                    suggestions.add(StudySuggestion.from(study));
+                                });
+            }
+
+            studySearchIndex.rebuild(documents);
+            studyTitleTrie.rebuild(suggestions);
+        }
+        finally
+        {
+            building = false;
+        }
+        studySearchCache.clear();
+
+        // 스냅샷보다 최신일 수 있는 변경을 교체된 색인에 다시 반영한다.
+        List<Long> changed = new ArrayList<>(changedDuringBuild);
+        changedDuringBuild.removeAll(changed);
+        changed.forEach(this::reindex);
+        log.info("study search index built : {} studies in {} ms ({} reindexed)", documents.size(), System.currentTimeMillis() - start, changed.size());
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyCreatedEvent(StudyCreatedEvent event)
+    {
+        reindex(event.getStudy().getId());
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyUpdateEvent(StudyUpdateEvent event)
+    {
+        reindex(event.getStudy().getId());
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStudyChangedEvent(StudyChangedEvent event)
+    {
+        reindex(event.getStudyId());
+    }
+
+    /**
+     * 스터디 한 건을 다시 색인한다. 삭제되었거나 비공개 상태이면 색인에서 제거한다.
+     * @param studyId
+     */
+    private void reindex(Long studyId)
+    {
+        // 색인을 변경하기 전에 기록해야 교체 전에 반영된 변경을 놓치지 않는다.
+        if (building)
+        {
+            changedDuringBuild.add(studyId);
+        }
+
+        Study study = studyRepository.findStudyWithTagsAndZonesById(studyId);
+        List<StudyDocument> snapshots = new ArrayList<>(2);
+
+        StudyDocument old;
+        if (study == null || !study.isPublished())
+        {
+            old = studySearchIndex.remove(studyId);
+            studyTitleTrie.remove(studyId);
+        }
+        else
+        {
+            StudyDocument document = StudyDocument.from(study);
+            snapshots.add(document);
+            old = studySearchIndex.index(document);
+            studyTitleTrie.put(StudySuggestion.from(study));
+        }
+
+        if (old != null)
+        {
+            snapshots.add(old);
+        }
+        studySearchCache.evict(studyId, snapshots);
+    }
+}
@@ -0,0 +1,46 @@
+package com.studyolle.modules.study.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * <h1>스터디 검색 설정 클래스</h1>
+ *
+ * app.search.mode=index 이면 메모리 역색인으로, jpql 이면 기존 JPQL 쿼리로 검색한다.<br>
+ * app.search.paging=cursor 이면 페이지 번호 대신 커서(키셋) 방식으로 페이징한다.<br>
+ * app.search.cache.* 는 검색 결과 캐시의 사용 여부, 최대 항목 수, 유효 시간이다.
+ */
+@Data
+@Component
+@ConfigurationProperties("app.search")
+public class StudySearchProperties
+{
+    private Mode mode = Mode.INDEX;
+
+    private Paging paging = Paging.OFFSET;
+
+    private Cache cache = new Cache();
+
+    public enum Mode
+    {
+        INDEX, JPQL
+    }
+
+    public enum Paging
+    {
+        OFFSET, CURSOR
+    }
+
+    @Data
+    public static class Cache
+    {
+        private boolean enabled = true;
+
+        private int maxSize = 1000;
+
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+}
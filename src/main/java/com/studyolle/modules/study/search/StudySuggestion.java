@@ -0,0 +1,34 @@
+package com.studyolle.modules.study.search;
+
+import com.studyolle.modules.study.Study;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * <h1>스터디 자동완성 항목 클래스</h1>
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudySuggestion
+{
+    /**
+     * 멤버 수가 많은 순, 최근 공개된 순
+     */
+    static final Comparator<StudySuggestion> RANKING = Comparator.comparingInt(StudySuggestion::getMemberCount).reversed()
+                                                            .thenComparing(StudySuggestion::getPublishedDateTime, Comparator.nullsLast(Comparator.reverseOrder()))
+                                                            .thenComparing(StudySuggestion::getId, Comparator.reverseOrder());
+
+    private final Long id;
+    private final String title;
+    private final String path;
+    private final int memberCount;
+    private final LocalDateTime publishedDateTime;
+
+    public static StudySuggestion from(Study study)
+    {
+        return new StudySuggestion(study.getId(), study.getTitle(), study.getPath(), study.getMemberCount(), study.getPublishedDateTime());
+    }
+}
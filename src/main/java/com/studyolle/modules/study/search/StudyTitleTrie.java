@@ -0,0 +1,315 @@
+package com.studyolle.modules.study.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <h1>스터디 이름 자동완성 트라이 클래스</h1>
+ *
+ * 공개된 스터디 이름을 간선에 문자열을 담는 압축 트라이(radix trie)로 보관한다.<br>
+ * 이름 전체와 각 단어의 시작 위치부터의 접미사를 키로 넣어 "스프링" 으로 "자바 스프링 입문" 도 찾는다.<br>
+ * 노드마다 하위 트리의 상위 {@value #TOP_SIZE} 건을 미리 계산해 두므로 조회는 접두어 길이만큼만 내려간다.
+ * 갱신 시에는 변경된 키의 경로에 있는 노드만 다시 계산한다.
+ *
+ * @see StudySearchIndexer
+ */
+@Component
+public class StudyTitleTrie
+{
+    static final int TOP_SIZE = 10;
+
+    private static final int MAX_KEYS_PER_STUDY = 6;
+
+    private final Node root = new Node("");
+
+    private final Map<Long, Set<String>> keysByStudy = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 접두어로 시작하는 스터디를 순위대로 반환한다.
+     * @param prefix 접두어
+     * @param size 최대 개수 ({@value #TOP_SIZE} 이하)
+     * @return
+     */
+    public List<StudySuggestion> suggest(String prefix, int size)
+    {
+        String key = normalize(prefix);
+        if (key.isEmpty() || size <= 0)
+        {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try
+        {
+            Node node = root;
+            int idx = 0;
+            while (idx < key.length())
+            {
+                Node child = node.children.get(key.charAt(idx));
+                if (child == null)
+                {
+                    return Collections.emptyList();
+                }
+
+                String rest = key.substring(idx);
+                if (rest.length() <= child.label.length())
+                {
+                    return child.label.startsWith(rest) ? limit(child.top, size) : Collections.emptyList();
+                }
+                if (!rest.startsWith(child.label))
+                {
+                    return Collections.emptyList();
+                }
+                idx += child.label.length();
+                node = child;
+            }
+            return limit(node.top, size);
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 교체
+     * @param suggestions
+     */
+    public void rebuild(Collection<StudySuggestion> suggestions)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            root.children.clear();
+            root.terminals.clear();
+            root.top = Collections.emptyList();
+            keysByStudy.clear();
+            suggestions.forEach(this::insert);
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 스터디를 추가하거나 갱신한다.
+     * @param suggestion
+     */
+    public void put(StudySuggestion suggestion)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            delete(suggestion.getId());
+            insert(suggestion);
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 스터디를 제거한다.
+     * @param studyId
+     */
+    public void remove(Long studyId)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            delete(studyId);
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(StudySuggestion suggestion)
+    {
+        Set<String> keys = keys(suggestion.getTitle());
+        keysByStudy.put(suggestion.getId(), keys);
+        keys.forEach(key -> insert(key, suggestion));
+    }
+
+    private void insert(String key, StudySuggestion suggestion)
+    {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+
+        Node node = root;
+        int idx = 0;
+        while (idx < key.length())
+        {
+            char first = key.charAt(idx);
+            Node child = node.children.get(first);
+            if (child == null)
+            {
+                child = new Node(key.substring(idx));
+                node.children.put(first, child);
+                idx = key.length();
+            }
+            else
+            {
+                int common = commonPrefixLength(child.label, key, idx);
+                if (common < child.label.length())
+                {
+                    // 간선을 공통 접두어에서 나눈다.
+                    Node middle = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    middle.children.put(child.label.charAt(0), child);
+                    middle.top = child.top;
+                    node.children.put(first, middle);
+                    child = middle;
+                }
+                idx += common;
+            }
+            node = child;
+            path.add(node);
+        }
+
+        node.terminals.put(suggestion.getId(), suggestion);
+        for (Node each : path)
+        {
+            each.top = mergeTop(each.top, suggestion);
+        }
+    }
+
+    private void delete(Long studyId)
+    {
+        Set<String> keys = keysByStudy.remove(studyId);
+        if (keys == null)
+        {
+            return;
+        }
+
+        for (String key : keys)
+        {
+            Deque<Node> path = new ArrayDeque<>();
+            Node node = root;
+            path.push(node);
+            int idx = 0;
+            while (idx < key.length() && node != null)
+            {
+                node = node.children.get(key.charAt(idx));
+                if (node != null)
+                {
+                    idx += node.label.length();
+                    path.push(node);
+                }
+            }
+            if (node == null)
+            {
+                continue;
+            }
+
+            node.terminals.remove(studyId);
+
+            // 말단부터 올라가며 상위 목록을 다시 계산하고 빈 노드는 떼어낸다.
+            Node child = null;
+            while (!path.isEmpty())
+            {
+                Node current = path.pop();
+                if (child != null && child.terminals.isEmpty() && child.children.isEmpty())
+                {
+                    current.children.remove(child.label.charAt(0));
+                }
+                current.top = recomputeTop(current);
+                child = current;
+            }
+        }
+    }
+
+    private static List<StudySuggestion> mergeTop(List<StudySuggestion> top, StudySuggestion suggestion)
+    {
+        List<StudySuggestion> merged = new ArrayList<>(top.size() + 1);
+        for (StudySuggestion each : top)
+        {
+            if (!each.getId().equals(suggestion.getId()))
+            {
+                merged.add(each);
+            }
+        }
+        merged.add(suggestion);
+        merged.sort(StudySuggestion.RANKING);
+        return merged.size() > TOP_SIZE ? List.copyOf(merged.subList(0, TOP_SIZE)) : List.copyOf(merged);
+    }
+
+    private static List<StudySuggestion> recomputeTop(Node node)
+    {
+        Map<Long, StudySuggestion> candidates = new HashMap<>(node.terminals);
+        node.children.values().forEach(child -> child.top.forEach(each -> candidates.putIfAbsent(each.getId(), each)));
+
+        List<StudySuggestion> top = new ArrayList<>(candidates.values());
+        top.sort(StudySuggestion.RANKING);
+        return top.size() > TOP_SIZE ? List.copyOf(top.subList(0, TOP_SIZE)) : List.copyOf(top);
+    }
+
+    private static List<StudySuggestion> limit(List<StudySuggestion> top, int size)
+    {
+        return top.size() > size ? top.subList(0, size) : top;
+    }
+
+    private static int commonPrefixLength(String label, String key, int from)
+    {
+        int length = 0;
+        while (length < label.length() && from + length < key.length() && label.charAt(length) == key.charAt(from + length))
+        {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * 이름 전체와 단어 시작 위치부터의 접미사
+     * @param title
+     * @return
+     */
+    static Set<String> keys(String title)
+    {
+        String normalized = normalize(title);
+        Set<String> keys = new LinkedHashSet<>();
+        if (normalized.isEmpty())
+        {
+            return keys;
+        }
+
+        keys.add(normalized);
+        for (int idx = 1; idx < normalized.length() && keys.size() < MAX_KEYS_PER_STUDY; idx++)
+        {
+            if (normalized.charAt(idx - 1) == ' ')
+            {
+                keys.add(normalized.substring(idx));
+            }
+        }
+        return keys;
+    }
+
+    static String normalize(String text)
+    {
+        return NGramIndex.normalize(text);
+    }
+
+    private static class Node
+    {
+        private String label;
+
+        private final Map<Character, Node> children = new HashMap<>();
+
+        private final Map<Long, StudySuggestion> terminals = new HashMap<>();
+
+        private List<StudySuggestion> top = Collections.emptyList();
+
+        Node(String label)
+        {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.studyolle.infra.config;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.infra.MockMvcTest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MockMvcTest
+class AsyncConfigTest extends AbstractContainerBaseTest
+{
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("notificationExecutor")
+    private ThreadPoolTaskExecutor notificationExecutor;
+
+    @Autowired
+    @Qualifier("enrollmentEventExecutor")
+    private ThreadPoolTaskExecutor enrollmentEventExecutor;
+
+    @Autowired
+    @Qualifier("homePageExecutor")
+    private ThreadPoolTaskExecutor homePageExecutor;
+
+    @Autowired
+    @Qualifier("mailDispatchExecutor")
+    private ThreadPoolTaskExecutor mailDispatchExecutor;
+
+    @Autowired
+    @Qualifier("mailDigestExecutor")
+    private ThreadPoolTaskExecutor mailDigestExecutor;
+
+    @Test
+    @DisplayName("이벤트 처리 Executor - 큐가 차면 호출한 스레드에서 실행하고 거절 수를 남긴다")
+    void caller_runs_when_saturated()
+    {
+        assertCallerRuns(notificationExecutor, "notification");
+        assertCallerRuns(enrollmentEventExecutor, "enrollment");
+        assertCallerRuns(mailDispatchExecutor, "mail-dispatch");
+        assertCallerRuns(mailDigestExecutor, "mail-digest");
+    }
+
+    @Test
+    @DisplayName("메인 페이지 Executor - 큐가 차면 작업을 거절하고 거절 수를 남긴다")
+    void home_page_aborts_when_saturated()
+    {
+        double rejected = rejectedCount("home-page");
+        ThreadPoolExecutor pool = homePageExecutor.getThreadPoolExecutor();
+
+        assertThrows(RejectedExecutionException.class,
+                        () -> pool.getRejectedExecutionHandler().rejectedExecution(() -> fail("rejected task must not run"), pool));
+        assertEquals(rejected + 1, rejectedCount("home-page"));
+    }
+
+    @Test
+    @DisplayName("Executor 마다 name 태그로 큐 길이, 실행 중인 스레드 수, 거절 수 지표를 남긴다")
+    void executor_metrics()
+    {
+        for (String name : List.of("notification", "enrollment", "home-page", "mail-dispatch", "mail-digest"))
+        {
+            assertNotNull(meterRegistry.find("executor.queued").tag("name", name).gauge(), name);
+            assertNotNull(meterRegistry.find("executor.active").tag("name", name).gauge(), name);
+            assertNotNull(meterRegistry.find("executor.rejected").tag("name", name).counter(), name);
+        }
+    }
+
+    private void assertCallerRuns(ThreadPoolTaskExecutor executor, String name)
+    {
+        double rejected = rejectedCount(name);
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        pool.getRejectedExecutionHandler().rejectedExecution(() -> ranOn.set(Thread.currentThread()), pool);
+
+        assertSame(Thread.currentThread(), ranOn.get(), name);
+        assertEquals(rejected + 1, rejectedCount(name), name);
+    }
+
+    private double rejectedCount(String name)
+    {
+        Counter counter = meterRegistry.find("executor.rejected").tag("name", name).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,158 @@
+package com.studyolle.infra.mail;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 모아보기 작업은 전용 Executor 스레드에서 묶음마다 커밋하므로, 테스트 트랜잭션 없이 항목을 커밋하고 직접 지운다.
+ * 만들어진 메일이 발송되어 사라지지 않도록 발송 작업은 끈다.
+ */
+@SpringBootTest(properties = "app.mail.outbox.enabled=false")
+@ActiveProfiles("test")
+class MailDigestJobTest extends AbstractContainerBaseTest
+{
+    private static final Long FIRST = 900_001L;
+    private static final Long SECOND = 900_002L;
+
+    @Autowired
+    private MailDigestJob mailDigestJob;
+
+    @Autowired
+    private MailDigest mailDigest;
+
+    @Autowired
+    private MailDigestRepository mailDigestRepository;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private MailDigestProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int chunkSize;
+
+    @BeforeEach
+    void setUp()
+    {
+        // 사용자마다 다른 묶음에서 처리되도록 한다.
+        chunkSize = properties.getChunkSize();
+        properties.setChunkSize(1);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        properties.setChunkSize(chunkSize);
+
+        jdbcTemplate.update("delete from mail_digest_entry where account_id in (?, ?)", FIRST, SECOND);
+        jdbcTemplate.update("delete from mail_outbox_message where recipient in (?, ?)", email(FIRST), email(SECOND));
+    }
+
+    @Test
+    @DisplayName("모아보기 메일 - 사용자별 항목을 메일 한 통으로 모으고 보낸 항목만 삭제한다")
+    void send_groups_entries_per_account()
+    {
+        mailDigest.addAll(List.of(entry(FIRST, MailDigestPeriod.HOURLY, "first-1"),
+                                    entry(SECOND, MailDigestPeriod.HOURLY, "second-1"),
+                                    entry(FIRST, MailDigestPeriod.HOURLY, "first-2"),
+                                    entry(FIRST, MailDigestPeriod.HOURLY, "first-3"),
+                                    entry(FIRST, MailDigestPeriod.DAILY, "first-daily")));
+
+        mailDigestJob.send(MailDigestPeriod.HOURLY);
+
+        Map<String, List<MailOutboxMessage>> byRecipient = digestMails();
+        assertEquals(1, byRecipient.get(email(FIRST)).size());
+        assertEquals(1, byRecipient.get(email(SECOND)).size());
+
+        MailOutboxMessage first = byRecipient.get(email(FIRST)).get(0);
+        assertEquals("[스터디올래] 스터디 소식 3건", first.getSubject());
+        assertTrue(first.getMessage().contains("first-1"));
+        assertTrue(first.getMessage().contains("first-3"));
+        assertFalse(first.getMessage().contains("first-daily"));
+        assertEquals("[스터디올래] 스터디 소식 1건", byRecipient.get(email(SECOND)).get(0).getSubject());
+
+        // 다른 주기의 항목은 남아 있고, 보낸 항목은 다시 보내지 않는다.
+        List<MailDigestEntry> remaining = remainingEntries();
+        assertEquals(1, remaining.size());
+        assertEquals(MailDigestPeriod.DAILY, remaining.get(0).getPeriod());
+
+        mailDigestJob.send(MailDigestPeriod.HOURLY);
+        assertEquals(2, digestMails().values().stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    @DisplayName("모아보기 메일 - 동시에 실행되어도 항목을 한 번만 보낸다")
+    void send_concurrently_once()
+    {
+        List<MailDigestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+        {
+            entries.add(entry(i % 2 == 0 ? FIRST : SECOND, MailDigestPeriod.DAILY, "daily-" + i));
+        }
+        mailDigest.addAll(entries);
+
+        CompletableFuture<Void> one = CompletableFuture.runAsync(() -> mailDigestJob.send(MailDigestPeriod.DAILY));
+        CompletableFuture<Void> other = CompletableFuture.runAsync(() -> mailDigestJob.send(MailDigestPeriod.DAILY));
+        CompletableFuture.allOf(one, other).join();
+
+        Map<String, List<MailOutboxMessage>> byRecipient = digestMails();
+        int mailed = byRecipient.values().stream()
+                                    .flatMap(List::stream)
+                                    .mapToInt(message -> Integer.parseInt(message.getSubject().replaceAll("\\D", "")))
+                                    .sum();
+        assertEquals(entries.size(), mailed);
+        assertTrue(remainingEntries().isEmpty());
+    }
+
+    private Map<String, List<MailOutboxMessage>> digestMails()
+    {
+        return mailOutboxRepository.findAll().stream()
+                                    .filter(message -> message.getRecipient().equals(email(FIRST)) || message.getRecipient().equals(email(SECOND)))
+                                    .collect(Collectors.groupingBy(MailOutboxMessage::getRecipient));
+    }
+
+    private List<MailDigestEntry> remainingEntries()
+    {
+        return mailDigestRepository.findAll().stream()
+                                    .filter(entry -> entry.getAccountId().equals(FIRST) || entry.getAccountId().equals(SECOND))
+                                    .collect(Collectors.toList());
+    }
+
+    private static MailDigestEntry entry(Long accountId, MailDigestPeriod period, String title)
+    {
+        return MailDigestEntry.builder()
+                                .period(period)
+                                .accountId(accountId)
+                                .email(email(accountId))
+                                .nickname("digest" + accountId)
+                                .title(title)
+                                .link("/study/" + title)
+                                .message(title + " 소식")
+                                .createdDateTime(LocalDateTime.now())
+                            .build();
+    }
+
+    private static String email(Long accountId)
+    {
+        return "digest" + accountId + "@gmail.com";
+    }
+}
@@ -0,0 +1,160 @@
+package com.studyolle.infra.mail;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willThrow;
+
+/**
+ * 발송 작업은 메일 발송 전용 Executor 스레드에서 별도 트랜잭션으로 상태를 바꾸므로, 테스트 트랜잭션 없이 커밋하고 직접 지운다.
+ * 주기 실행이 테스트 중에 끼어들지 않도록 실행 간격을 늘리고, 발송량 제한은 끈다.
+ */
+@SpringBootTest(properties = {"app.mail.outbox.poll-interval=1h", "app.mail.rate-limit.enabled=false"})
+@ActiveProfiles("test")
+class MailOutboxDispatcherTest extends AbstractContainerBaseTest
+{
+    private static final Duration TOLERANCE = Duration.ofSeconds(1);
+
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private MailOutboxProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private EmailService emailService;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void tearDown()
+    {
+        created.forEach(mailOutboxRepository::deleteById);
+    }
+
+    @Test
+    @DisplayName("메일 발송 성공 - SENT 로 바꾸고 시도 횟수를 남긴다")
+    void dispatch_sent()
+    {
+        willDoNothing().given(emailService).sendEmails(anyCollection());
+        Long id = enqueue("sent@gmail.com");
+
+        mailOutboxDispatcher.dispatch();
+
+        MailOutboxMessage message = mailOutboxRepository.findById(id).orElseThrow();
+        assertEquals(MailOutboxMessage.Status.SENT, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertNotNull(message.getSentDateTime());
+        assertNull(message.getLastError());
+    }
+
+    @Test
+    @DisplayName("메일 발송 실패 - 재시도 간격을 두 배씩 늘리고 최대 시도 횟수를 넘으면 FAILED 로 남긴다")
+    void dispatch_failure_backoff()
+    {
+        willThrow(new MailSendException("smtp unavailable")).given(emailService).sendEmails(anyCollection());
+        Long id = enqueue("failed@gmail.com");
+
+        Duration backoff = properties.getInitialBackoff();
+        for (int attempts = 1; attempts < properties.getMaxAttempts(); attempts++)
+        {
+            LocalDateTime before = LocalDateTime.now();
+            mailOutboxDispatcher.dispatch();
+            LocalDateTime after = LocalDateTime.now();
+
+            MailOutboxMessage message = mailOutboxRepository.findById(id).orElseThrow();
+            assertEquals(MailOutboxMessage.Status.PENDING, message.getStatus());
+            assertEquals(attempts, message.getAttempts());
+            assertEquals("smtp unavailable", message.getLastError());
+            assertBetween(before.plus(backoff), after.plus(backoff), message.getNextAttemptDateTime());
+
+            // 재시도 시각이 되기 전에는 다시 가져가지 않는다.
+            mailOutboxDispatcher.dispatch();
+            assertEquals(attempts, mailOutboxRepository.findById(id).orElseThrow().getAttempts());
+
+            makeDue(id);
+            backoff = backoff.multipliedBy(2);
+        }
+
+        mailOutboxDispatcher.dispatch();
+
+        MailOutboxMessage message = mailOutboxRepository.findById(id).orElseThrow();
+        assertEquals(MailOutboxMessage.Status.FAILED, message.getStatus());
+        assertEquals(properties.getMaxAttempts(), message.getAttempts());
+
+        makeDue(id);
+        mailOutboxDispatcher.dispatch();
+        assertEquals(properties.getMaxAttempts(), mailOutboxRepository.findById(id).orElseThrow().getAttempts());
+    }
+
+    @Test
+    @DisplayName("메일 발송 중 - 다른 작업자가 가져가지 않도록 임대 시간만큼 다음 시도 시각을 미룬다")
+    void dispatch_lease()
+    {
+        AtomicReference<MailOutboxMessage> sending = new AtomicReference<>();
+        Long id = enqueue("lease@gmail.com");
+        willAnswer(invocation -> {
+            sending.set(mailOutboxRepository.findById(id).orElseThrow());
+            return null;
+        }).given(emailService).sendEmails(anyCollection());
+
+        LocalDateTime before = LocalDateTime.now();
+        mailOutboxDispatcher.dispatch();
+        LocalDateTime after = LocalDateTime.now();
+
+        MailOutboxMessage leased = sending.get();
+        assertNotNull(leased);
+        assertEquals(MailOutboxMessage.Status.PENDING, leased.getStatus());
+        assertEquals(0, leased.getAttempts());
+        assertBetween(before.plus(properties.getLease()), after.plus(properties.getLease()), leased.getNextAttemptDateTime());
+        assertEquals(MailOutboxMessage.Status.SENT, mailOutboxRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    private Long enqueue(String recipient)
+    {
+        MailOutboxMessage message = mailOutboxRepository.save(MailOutboxMessage.of(EmailMessage.builder()
+                                                                                                    .to(recipient)
+                                                                                                    .subject("제목")
+                                                                                                    .message("본문")
+                                                                                                .build()));
+        created.add(message.getId());
+        return message.getId();
+    }
+
+    private void makeDue(Long id)
+    {
+        jdbcTemplate.update("update mail_outbox_message set next_attempt_date_time = ? where id = ?",
+                            LocalDateTime.now().minusSeconds(1), id);
+    }
+
+    private static void assertBetween(LocalDateTime from, LocalDateTime to, LocalDateTime actual)
+    {
+        assertNotNull(actual);
+        assertFalse(actual.isBefore(from.minus(TOLERANCE)), () -> actual + " is before " + from);
+        assertFalse(actual.isAfter(to.plus(TOLERANCE)), () -> actual + " is after " + to);
+    }
+}
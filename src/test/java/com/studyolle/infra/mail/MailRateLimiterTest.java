@@ -0,0 +1,86 @@
+package com.studyolle.infra.mail;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailRateLimiterTest
+{
+    private final AtomicLong now = new AtomicLong();
+
+    private final MailRateLimitProperties properties = new MailRateLimitProperties();
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp()
+    {
+        properties.setGlobalPerSecond(1);
+        properties.setGlobalBurst(4);
+        properties.setDomainPerMinute(60);
+        properties.setDomainBurst(2);
+        properties.setUrgentReserve(1);
+        properties.setDomainUrgentReserve(0);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("도메인별 한도를 넘으면 미루고, 토큰이 채워지면 다시 허용")
+    void domain_limit()
+    {
+        MailRateLimiter limiter = new MailRateLimiter(properties, meterRegistry, now::get);
+
+        assertEquals(Duration.ZERO, limiter.acquire("a@gmail.com", MailPriority.NORMAL));
+        assertEquals(Duration.ZERO, limiter.acquire("b@GMAIL.com", MailPriority.NORMAL));
+
+        Duration wait = limiter.acquire("c@gmail.com", MailPriority.NORMAL);
+        assertTrue(wait.compareTo(Duration.ofMillis(999)) > 0 && wait.compareTo(Duration.ofMillis(1001)) < 0);
+        assertEquals(Duration.ZERO, limiter.acquire("d@naver.com", MailPriority.NORMAL));
+
+        now.addAndGet(wait.plusMillis(1).toNanos());
+        assertEquals(Duration.ZERO, limiter.acquire("c@gmail.com", MailPriority.NORMAL));
+        assertEquals(1, meterRegistry.get("mail.rate-limit.throttled").tag("scope", "domain").counter().count());
+    }
+
+    @Test
+    @DisplayName("전체 한도의 예비분은 급한 메일만 사용")
+    void urgent_reserve()
+    {
+        MailRateLimiter limiter = new MailRateLimiter(properties, meterRegistry, now::get);
+
+        assertEquals(Duration.ZERO, limiter.acquire("a@a.com", MailPriority.NORMAL));
+        assertEquals(Duration.ZERO, limiter.acquire("b@b.com", MailPriority.NORMAL));
+        assertEquals(Duration.ZERO, limiter.acquire("c@c.com", MailPriority.NORMAL));
+
+        // 남은 토큰 하나는 예비분이다.
+        assertTrue(limiter.acquire("d@d.com", MailPriority.NORMAL).compareTo(Duration.ZERO) > 0);
+        assertEquals(Duration.ZERO, limiter.acquire("d@d.com", MailPriority.URGENT));
+        assertTrue(limiter.acquire("e@e.com", MailPriority.URGENT).compareTo(Duration.ZERO) > 0);
+
+        assertEquals(2, meterRegistry.get("mail.rate-limit.throttled").tag("scope", "global").counter().count());
+    }
+
+    @Test
+    @DisplayName("도메인별 한도의 예비분도 급한 메일만 사용")
+    void domain_urgent_reserve()
+    {
+        properties.setDomainUrgentReserve(1);
+        MailRateLimiter limiter = new MailRateLimiter(properties, meterRegistry, now::get);
+
+        assertEquals(Duration.ZERO, limiter.acquire("a@gmail.com", MailPriority.NORMAL));
+
+        // 일반 메일로 도메인 한도를 다 쓴 뒤에도 급한 메일은 같은 도메인으로 바로 보낸다.
+        assertTrue(limiter.acquire("b@gmail.com", MailPriority.NORMAL).compareTo(Duration.ZERO) > 0);
+        assertEquals(Duration.ZERO, limiter.acquire("c@gmail.com", MailPriority.URGENT));
+        assertTrue(limiter.acquire("d@gmail.com", MailPriority.URGENT).compareTo(Duration.ZERO) > 0);
+
+        assertEquals(2, meterRegistry.get("mail.rate-limit.throttled").tag("scope", "domain").counter().count());
+    }
+}
@@ -0,0 +1,79 @@
+package com.studyolle.infra.mail;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>링크 메일 렌더링 벤치마크</h1>
+ *
+ * 수신자 {@value #RECIPIENTS} 명에게 같은 스터디 알림을 보낼 때 메일 한 건당 본문 생성 비용을 비교한다.<br>
+ * thymeleaf : 수신자마다 Context 를 만들어 mail/simple-link 를 렌더링 (기존 방식)<br>
+ * prepared  : 수신자 이름을 제외한 부분을 한 번 렌더링하고 수신자마다 이름만 이어 붙임<br>
+ * 실행 : mvn test-compile 후 main 메서드 실행
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimpleLinkMailTemplateBenchmark
+{
+    private static final int RECIPIENTS = 100;
+
+    private TemplateEngine templateEngine;
+    private SimpleLinkMailTemplate simpleLinkMailTemplate;
+    private String[] nicknames;
+
+    @Setup
+    public void setUp()
+    {
+        templateEngine = SimpleLinkMailTemplateTest.templateEngine();
+        simpleLinkMailTemplate = new SimpleLinkMailTemplate(templateEngine, SimpleLinkMailTemplateTest.appProperties());
+
+        nicknames = new String[RECIPIENTS];
+        for (int i = 0; i < RECIPIENTS; i++)
+        {
+            nicknames[i] = "user" + i;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void thymeleaf(Blackhole blackhole)
+    {
+        for (String nickname : nicknames)
+        {
+            Context context = new Context();
+            context.setVariable("link", "/study/spring");
+            context.setVariable("nickname", nickname);
+            context.setVariable("linkName", "스프링 입문");
+            context.setVariable("message", "새로운 스터디가 개설되었습니다.");
+            context.setVariable("host", "http://127.0.0.1:8080");
+            blackhole.consume(templateEngine.process(SimpleLinkMailTemplate.TEMPLATE, context));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void prepared(Blackhole blackhole)
+    {
+        SimpleLinkMailTemplate.Prepared mail = simpleLinkMailTemplate.prepare("/study/spring", "스프링 입문", "새로운 스터디가 개설되었습니다.");
+        for (String nickname : nicknames)
+        {
+            blackhole.consume(mail.render(nickname));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(SimpleLinkMailTemplateBenchmark.class.getSimpleName()).build()).run();
+    }
+}
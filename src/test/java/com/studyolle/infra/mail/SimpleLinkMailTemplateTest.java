@@ -0,0 +1,56 @@
+package com.studyolle.infra.mail;
+
+import com.studyolle.infra.config.AppProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimpleLinkMailTemplateTest
+{
+    static TemplateEngine templateEngine()
+    {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        return templateEngine;
+    }
+
+    static AppProperties appProperties()
+    {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setHost("http://127.0.0.1:8080");
+        return appProperties;
+    }
+
+    @Test
+    @DisplayName("미리 렌더링한 본문에 이름을 붙인 결과가 Thymeleaf 로 렌더링한 결과와 같음")
+    void same_as_thymeleaf()
+    {
+        TemplateEngine templateEngine = templateEngine();
+        SimpleLinkMailTemplate simpleLinkMailTemplate = new SimpleLinkMailTemplate(templateEngine, appProperties());
+        SimpleLinkMailTemplate.Prepared prepared = simpleLinkMailTemplate.prepare("/study/spring", "스프링 <입문>", "새로운 스터디가 개설되었습니다.");
+
+        for (String nickname : new String[] {"1hoon", "<script>\"&'", ""})
+        {
+            Context context = new Context();
+            context.setVariable("nickname", nickname);
+            context.setVariable("link", "/study/spring");
+            context.setVariable("linkName", "스프링 <입문>");
+            context.setVariable("message", "새로운 스터디가 개설되었습니다.");
+            context.setVariable("host", "http://127.0.0.1:8080");
+
+            assertEquals(templateEngine.process(SimpleLinkMailTemplate.TEMPLATE, context), prepared.render(nickname));
+        }
+    }
+}
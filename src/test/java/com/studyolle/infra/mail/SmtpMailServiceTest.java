@@ -0,0 +1,134 @@
+package com.studyolle.infra.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import javax.mail.internet.MimeMessage;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmtpMailServiceTest
+{
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final SmtpPoolProperties properties = new SmtpPoolProperties();
+
+    private MeterRegistry meterRegistry;
+    private SmtpMailService smtpMailService;
+
+    @BeforeEach
+    void createService()
+    {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        properties.setMaxConnections(2);
+        properties.setMaxMessagesPerConnection(10);
+
+        meterRegistry = new SimpleMeterRegistry();
+        smtpMailService = new SmtpMailService(mailSender, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void closeConnections()
+    {
+        smtpMailService.closeConnections();
+    }
+
+    @Test
+    @DisplayName("연결 하나로 여러 메일을 발송하고 최대 메일 수를 넘으면 연결을 교체")
+    void sendEmails() throws Exception
+    {
+        List<EmailMessage> emailMessages = IntStream.rangeClosed(1, 25)
+                                                        .mapToObj(i -> message("user" + i + "@studyolle.com", "제목 " + i))
+                                                        .collect(Collectors.toList());
+
+        smtpMailService.sendEmails(emailMessages.subList(0, 10));
+        smtpMailService.sendEmails(emailMessages.subList(10, 25));
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(25, received.length);
+        assertEquals("제목 1", received[0].getSubject());
+        // 10건마다 연결을 새로 맺는다.
+        assertEquals(3, meterRegistry.get("mail.smtp.connections.opened").counter().count());
+    }
+
+    @Test
+    @DisplayName("한 건씩 발송해도 풀의 연결을 재사용")
+    void sendEmail_reuses_connection()
+    {
+        smtpMailService.sendEmail(message("a@studyolle.com", "첫 번째"));
+        smtpMailService.sendEmail(message("b@studyolle.com", "두 번째"));
+
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(1, meterRegistry.get("mail.smtp.connections.opened").counter().count());
+    }
+
+    @Test
+    @DisplayName("연결 풀을 사용하지 않으면 메일마다 새로 연결")
+    void sendEmails_without_pool()
+    {
+        properties.setEnabled(false);
+
+        smtpMailService.sendEmails(List.of(message("a@studyolle.com", "첫 번째"), message("b@studyolle.com", "두 번째")));
+
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(0, meterRegistry.get("mail.smtp.connections.opened").counter().count());
+    }
+
+    @Test
+    @DisplayName("발송 도중 멈추면 이미 보낸 메일은 실패로 돌려주지 않는다")
+    void sendEmails_fails_only_unsent()
+    {
+        EmailMessage sent = message("a@studyolle.com", "첫 번째");
+        EmailMessage invalid = message(null, "수신자 없음");
+        EmailMessage unsent = message("c@studyolle.com", "세 번째");
+
+        MailSendException exception = assertThrows(MailSendException.class,
+                                                    () -> smtpMailService.sendEmails(List.of(sent, invalid, unsent)));
+
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        Map<Object, Exception> failedMessages = exception.getFailedMessages();
+        assertEquals(2, failedMessages.size());
+        assertFalse(failedMessages.containsKey(sent));
+        assertTrue(failedMessages.containsKey(invalid));
+        assertTrue(failedMessages.containsKey(unsent));
+    }
+
+    @Test
+    @DisplayName("같은 내용의 메일이 여러 건 실패하면 모두 실패로 돌려준다")
+    void sendEmails_keeps_identical_failures()
+    {
+        EmailMessage first = message(null, "수신자 없음");
+        EmailMessage second = message(null, "수신자 없음");
+
+        MailSendException exception = assertThrows(MailSendException.class,
+                                                    () -> smtpMailService.sendEmails(List.of(first, second)));
+
+        assertEquals(2, exception.getFailedMessages().size());
+    }
+
+    private EmailMessage message(String to, String subject)
+    {
+        return EmailMessage.builder()
+                                .to(to)
+                                .subject(subject)
+                                .message("<p>" + subject + "</p>")
+                            .build();
+    }
+}
@@ -2,8 +2,8 @@ package com.studyolle.modules.account;
 
 import com.studyolle.infra.AbstractContainerBaseTest;
 import com.studyolle.infra.MockMvcTest;
-import com.studyolle.infra.mail.EmailMessage;
 import com.studyolle.infra.mail.EmailService;
+import com.studyolle.infra.mail.MailOutboxRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,8 +12,6 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.BDDMockito.then;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
 import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.unauthenticated;
@@ -31,6 +29,9 @@ class AccountControllerTest extends AbstractContainerBaseTest
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
     @MockBean
     private EmailService mailSender;
 
@@ -87,8 +88,9 @@ class AccountControllerTest extends AbstractContainerBaseTest
         assertNotNull(account);
         assertNotNull(account.getEmailCheckToken());
         assertNotEquals(account.getPassword(), "12345678");
-        // 메일은 발송 되었는지
-        then(mailSender).should().sendEmail(any(EmailMessage.class));
+        // 메일이 발송 대기열에 저장 되었는지
+        assertEquals(1, mailOutboxRepository.count());
+        assertEquals("chiwoo2074@gmail.com", mailOutboxRepository.findAll().get(0).getRecipient());
     }
 
     @Test
@@ -0,0 +1,99 @@
+package com.studyolle.modules.main;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.infra.MockMvcTest;
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.WithAccount;
+import com.studyolle.modules.study.recommendation.StudyRecommendationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@MockMvcTest
+class HomePageServiceTest extends AbstractContainerBaseTest
+{
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private HomePageProperties homePageProperties;
+
+    @MockBean
+    private StudyRecommendationService studyRecommendationService;
+
+    @Test
+    @WithAccount("1hoon")
+    @DisplayName("메인 페이지 - 제한 시간을 넘긴 영역은 비워서 보여준다")
+    void section_timeout() throws Exception
+    {
+        long sleepMillis = homePageProperties.getSectionTimeout().toMillis() * 3;
+        given(studyRecommendationService.getRecommendedStudies(any(Account.class))).willAnswer(invocation -> {
+            Thread.sleep(sleepMillis);
+            return Collections.emptyList();
+        });
+        double degraded = degradedCount("studyList");
+
+        long start = System.currentTimeMillis();
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index-after-login"))
+                .andExpect(model().attribute("studyList", empty()))
+                .andExpect(model().attributeExists("account", "enrollmentList", "studyManagerOf", "studyMemberOf"));
+
+        assertTrue(System.currentTimeMillis() - start < sleepMillis);
+        assertEquals(degraded + 1, degradedCount("studyList"));
+    }
+
+    @Test
+    @WithAccount("1hoon")
+    @DisplayName("메인 페이지 - 실패한 영역은 비워서 보여준다")
+    void section_failure() throws Exception
+    {
+        given(studyRecommendationService.getRecommendedStudies(any(Account.class))).willThrow(new IllegalStateException("recommendation failed"));
+        double degraded = degradedCount("studyList");
+
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("studyList", empty()));
+
+        assertEquals(degraded + 1, degradedCount("studyList"));
+    }
+
+    @Test
+    @WithAccount("1hoon")
+    @DisplayName("메인 페이지 - 정상 조회된 영역은 그대로 보여준다")
+    void section_success() throws Exception
+    {
+        given(studyRecommendationService.getRecommendedStudies(any(Account.class))).willReturn(List.of());
+        double degraded = degradedCount("studyList");
+
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeExists("studyList"));
+
+        assertEquals(degraded, degradedCount("studyList"));
+    }
+
+    private double degradedCount(String section)
+    {
+        Counter counter = meterRegistry.find("home.section.degraded").tag("section", section).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
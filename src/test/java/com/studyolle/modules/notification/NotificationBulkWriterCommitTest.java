@@ -0,0 +1,92 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+
+/**
+ * 묶음마다 커밋되는지 확인하므로 테스트 트랜잭션 없이 실행하고 직접 데이터를 지운다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class NotificationBulkWriterCommitTest extends AbstractContainerBaseTest
+{
+    @Autowired
+    private NotificationBulkWriter notificationBulkWriter;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private NotificationStreamBroker notificationStreamBroker;
+
+    private final List<Account> accounts = new ArrayList<>();
+
+    @AfterEach
+    void tearDown()
+    {
+        accounts.forEach(account -> jdbcTemplate.update("delete from notification where account_id = ?", account.getId()));
+        accountRepository.deleteAll(accounts);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖에서 호출하면 마지막 묶음을 저장하기 전에 앞 묶음이 커밋되어 있다")
+    void write_commits_each_chunk()
+    {
+        for (int i = 0; i <= NotificationBulkWriter.CHUNK_SIZE; i++)
+        {
+            accounts.add(Account.builder().nickname("commit" + i).email("commit" + i + "@gmail.com").build());
+        }
+        accountRepository.saveAll(accounts);
+        List<Long> accountIds = accounts.stream().map(Account::getId).collect(Collectors.toList());
+        Long last = accountIds.get(accountIds.size() - 1);
+
+        // 마지막 묶음을 저장하는 트랜잭션 안에서, 다른 커넥션으로 커밋된 알림 수를 센다.
+        AtomicLong committedBeforeLastChunk = new AtomicLong(-1);
+        willAnswer(invocation -> {
+            committedBeforeLastChunk.set(CompletableFuture.supplyAsync(() -> committedCount(accountIds)).join());
+            return null;
+        }).given(notificationStreamBroker).publish(eq(last), any(Notification.class));
+
+        long written = notificationBulkWriter.write(Notification.builder()
+                                                                .title("스프링 가 개설됨")
+                                                                .link("/study/spring")
+                                                                .message("스프링 스터디")
+                                                                .createdDateTime(LocalDateTime.now())
+                                                                .notificationType(NotificationType.STUDY_CREATED)
+                                                            .build(), accountIds);
+
+        assertEquals(accountIds.size(), written);
+        assertEquals(NotificationBulkWriter.CHUNK_SIZE, committedBeforeLastChunk.get());
+        assertEquals(accountIds.size(), committedCount(accountIds));
+    }
+
+    private long committedCount(List<Long> accountIds)
+    {
+        return jdbcTemplate.queryForObject("select count(*) from notification where account_id between ? and ?", Long.class,
+                                            accountIds.get(0), accountIds.get(accountIds.size() - 1));
+    }
+}
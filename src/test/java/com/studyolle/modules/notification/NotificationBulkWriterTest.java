@@ -0,0 +1,91 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.infra.MockMvcTest;
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MockMvcTest
+class NotificationBulkWriterTest extends AbstractContainerBaseTest
+{
+    @Autowired
+    private NotificationBulkWriter notificationBulkWriter;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("여러 묶음에 걸친 알림 일괄 저장")
+    void write_multiple_chunks()
+    {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i <= NotificationBulkWriter.CHUNK_SIZE; i++)
+        {
+            accounts.add(Account.builder().nickname("bulk" + i).email("bulk" + i + "@gmail.com").build());
+        }
+        accountRepository.saveAll(accounts);
+        accountRepository.flush();
+
+        LocalDateTime createdDateTime = LocalDateTime.now().withNano(0);
+        Notification template = Notification.builder()
+                                                .title("스프링 가 개설됨")
+                                                .link("/study/spring")
+                                                .message("스프링 스터디")
+                                                .createdDateTime(createdDateTime)
+                                                .notificationType(NotificationType.STUDY_CREATED)
+                                            .build();
+        List<Long> accountIds = accounts.stream().map(Account::getId).collect(Collectors.toList());
+
+        long written = notificationBulkWriter.write(template, accountIds);
+
+        assertEquals(accounts.size(), written);
+        List<Notification> notifications = notificationRepository.findAll().stream()
+                                                                    .filter(notification -> accountIds.contains(notification.getAccount().getId()))
+                                                                    .collect(Collectors.toList());
+        assertEquals(accounts.size(), notifications.size());
+
+        Set<Long> ids = new HashSet<>();
+        Set<Long> recipients = new HashSet<>();
+        notifications.forEach(notification -> {
+            ids.add(notification.getId());
+            recipients.add(notification.getAccount().getId());
+            assertEquals("스프링 가 개설됨", notification.getTitle());
+            assertEquals("/study/spring", notification.getLink());
+            assertEquals(NotificationType.STUDY_CREATED, notification.getNotificationType());
+            assertEquals(createdDateTime, notification.getCreatedDateTime());
+            assertFalse(notification.isChecked());
+        });
+        assertEquals(accounts.size(), ids.size());
+        assertEquals(new HashSet<>(accountIds), recipients);
+
+        Account last = accounts.get(accounts.size() - 1);
+        assertEquals(1, notificationRepository.countByAccountAndChecked(last, false));
+    }
+
+    @Test
+    @DisplayName("수신자가 없으면 저장하지 않음")
+    void write_no_recipients()
+    {
+        Notification template = Notification.builder()
+                                                .title("스프링 가 개설됨")
+                                                .notificationType(NotificationType.STUDY_CREATED)
+                                            .build();
+
+        assertEquals(0, notificationBulkWriter.write(template, List.of()));
+    }
+}
@@ -0,0 +1,144 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.infra.MockMvcTest;
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountRepository;
+import com.studyolle.modules.account.WithAccount;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@MockMvcTest
+@SuppressWarnings("unchecked")
+class NotificationControllerTest extends AbstractContainerBaseTest
+{
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Test
+    @WithAccount("1hoon")
+    @DisplayName("읽지 않은 알림 조회 - 보여준 알림의 아이디 범위만 읽음 처리")
+    void getNotifications_marks_shown_range_as_read() throws Exception
+    {
+        Account account = accountRepository.findByNickname("1hoon");
+        List<Long> ids = createNotifications(account, 25, false);
+
+        mockMvc.perform(get("/notifications"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("notification/list"))
+                .andExpect(model().attribute("numberOfNotChecked", 25L));
+
+        assertEquals(20, notificationRepository.countByAccountAndChecked(account, true));
+        assertEquals(5, notificationRepository.countByAccountAndChecked(account, false));
+        assertEquals(ids.subList(20, 25), unreadIds(account));
+
+        // 목록을 보여준 뒤에 저장된 알림은 읽지 않은 상태로 남는다.
+        Long newer = createNotifications(account, 1, false).get(0);
+        assertEquals(6, notificationRepository.countByAccountAndChecked(account, false));
+        assertTrue(unreadIds(account).contains(newer));
+    }
+
+    @Test
+    @WithAccount("1hoon")
+    @DisplayName("읽은 알림 더 보기 - 마지막 아이디 이전 알림을 이어서 조회")
+    void getOldNotifications_load_more() throws Exception
+    {
+        Account account = accountRepository.findByNickname("1hoon");
+        List<Long> ids = createNotifications(account, 25, true);
+
+        List<Notification> firstPage = (List<Notification>) mockMvc.perform(get("/notifications/old"))
+                                                                        .andExpect(status().isOk())
+                                                                        .andExpect(model().attribute("isNew", false))
+                                                                        .andExpect(model().attribute("numberOfChecked", 25L))
+                                                                        .andExpect(model().attribute("nextBefore", ids.get(19)))
+                                                                    .andReturn().getModelAndView().getModel().get("notifications");
+        assertEquals(ids.subList(0, 20), idsOf(firstPage));
+
+        List<Notification> secondPage = (List<Notification>) mockMvc.perform(get("/notifications/old").param("before", String.valueOf(ids.get(19))))
+                                                                        .andExpect(status().isOk())
+                                                                        .andExpect(model().attributeDoesNotExist("nextBefore"))
+                                                                        .andExpect(content().string(not(containsString("이전 알림 더 보기"))))
+                                                                    .andReturn().getModelAndView().getModel().get("notifications");
+        assertEquals(ids.subList(20, 25), idsOf(secondPage));
+    }
+
+    @Test
+    @WithAccount("1hoon")
+    @DisplayName("읽지 않은 알림 더 보기 - 다음 페이지 링크와 이어서 조회")
+    void getNotifications_load_more() throws Exception
+    {
+        Account account = accountRepository.findByNickname("1hoon");
+        List<Long> ids = createNotifications(account, 25, false);
+
+        mockMvc.perform(get("/notifications"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("nextBefore", ids.get(19)))
+                .andExpect(content().string(containsString("/notifications?before=" + ids.get(19))));
+
+        List<Notification> nextPage = (List<Notification>) mockMvc.perform(get("/notifications").param("before", String.valueOf(ids.get(19))))
+                                                                        .andExpect(status().isOk())
+                                                                        .andExpect(model().attributeDoesNotExist("nextBefore"))
+                                                                    .andReturn().getModelAndView().getModel().get("notifications");
+        assertEquals(ids.subList(20, 25), idsOf(nextPage));
+        assertEquals(0, notificationRepository.countByAccountAndChecked(account, false));
+    }
+
+    private List<Long> idsOf(List<Notification> notifications)
+    {
+        return notifications.stream().map(Notification::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * 알림 생성
+     * @return 최신 순 알림 아이디
+     */
+    private List<Long> createNotifications(Account account, int count, boolean checked)
+    {
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+        {
+            notifications.add(Notification.builder()
+                                            .title("알림 " + i)
+                                            .link("/study/test")
+                                            .message("메시지 " + i)
+                                            .checked(checked)
+                                            .account(account)
+                                            .createdDateTime(LocalDateTime.now())
+                                            .notificationType(NotificationType.values()[i % NotificationType.values().length])
+                                        .build());
+        }
+        notificationRepository.saveAll(notifications);
+        notificationRepository.flush();
+
+        List<Long> ids = notifications.stream().map(Notification::getId).collect(Collectors.toList());
+        ids.sort((a, b) -> Long.compare(b, a));
+        return ids;
+    }
+
+    private List<Long> unreadIds(Account account)
+    {
+        return notificationRepository.findByAccountAndCheckedOrderByIdDesc(account, false, PageRequest.of(0, 100)).stream()
+                                        .map(Notification::getId)
+                                        .collect(Collectors.toList());
+    }
+}
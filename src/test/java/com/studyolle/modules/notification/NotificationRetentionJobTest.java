@@ -0,0 +1,160 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountFactory;
+import com.studyolle.modules.account.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 정리 작업은 배치마다 별도 트랜잭션으로 커밋하므로, 테스트 트랜잭션으로 롤백하지 않고 직접 데이터를 지운다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class NotificationRetentionJobTest extends AbstractContainerBaseTest
+{
+    private static final int BATCH_SIZE = 2;
+
+    @Autowired
+    private NotificationRetentionJob notificationRetentionJob;
+
+    @Autowired
+    private NotificationRetentionProperties properties;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountFactory accountFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private NotificationRetentionProperties.Mode mode;
+    private int batchSize;
+
+    private Account account;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp()
+    {
+        mode = properties.getMode();
+        batchSize = properties.getBatchSize();
+        properties.setBatchSize(BATCH_SIZE);
+
+        account = accountFactory.createAccount("retention");
+        now = LocalDateTime.now();
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        properties.setMode(mode);
+        properties.setBatchSize(batchSize);
+
+        jdbcTemplate.update("delete from notification_archive where account_id = ?", account.getId());
+        jdbcTemplate.update("delete from notification where account_id = ?", account.getId());
+        accountRepository.deleteById(account.getId());
+    }
+
+    @Test
+    @DisplayName("오래된 알림 정리 - 보관 모드는 notification_archive 로 옮긴다")
+    void purge_archive()
+    {
+        properties.setMode(NotificationRetentionProperties.Mode.ARCHIVE);
+        List<Long> old = createNotifications(5, now.minusDays(40));
+        List<Long> recent = createNotifications(2, now.minusDays(1));
+
+        long purged = notificationRetentionJob.purge(now.minusDays(30));
+
+        assertEquals(old.size(), purged);
+        assertEquals(recent, notificationIds());
+        assertEquals(old, jdbcTemplate.queryForList("select id from notification_archive where account_id = ? order by id", Long.class, account.getId()));
+
+        Notification source = notification(0, now.minusDays(40));
+        Map<String, Object> archived = jdbcTemplate.queryForMap("select * from notification_archive where id = ?", old.get(0));
+        assertEquals(source.getTitle(), archived.get("title"));
+        assertEquals(source.getLink(), archived.get("link"));
+        assertEquals(source.getNotificationType().name(), archived.get("notification_type"));
+        assertEquals(false, archived.get("checked"));
+        assertNotNull(archived.get("archived_date_time"));
+    }
+
+    @Test
+    @DisplayName("오래된 알림 정리 - 삭제 모드는 보관하지 않고 지운다")
+    void purge_delete()
+    {
+        properties.setMode(NotificationRetentionProperties.Mode.DELETE);
+        List<Long> old = createNotifications(5, now.minusDays(40));
+        List<Long> recent = createNotifications(2, now.minusDays(1));
+
+        long purged = notificationRetentionJob.purge(now.minusDays(30));
+
+        assertEquals(old.size(), purged);
+        assertEquals(recent, notificationIds());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from notification_archive where account_id = ?", Long.class, account.getId()));
+    }
+
+    @Test
+    @DisplayName("오래된 알림 정리 - 대상이 없으면 아무것도 바꾸지 않는다")
+    void purge_nothing()
+    {
+        List<Long> recent = createNotifications(3, now.minusDays(1));
+
+        assertEquals(0, notificationRetentionJob.purge(now.minusDays(30)));
+        assertEquals(recent, notificationIds());
+    }
+
+    /**
+     * 알림 생성
+     * @return 아이디 오름차순 알림 아이디
+     */
+    private List<Long> createNotifications(int count, LocalDateTime createdDateTime)
+    {
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+        {
+            notifications.add(notification(i, createdDateTime));
+        }
+        return notificationRepository.saveAll(notifications).stream()
+                                        .map(Notification::getId)
+                                        .sorted()
+                                        .collect(Collectors.toList());
+    }
+
+    private Notification notification(int index, LocalDateTime createdDateTime)
+    {
+        return Notification.builder()
+                            .title("알림 " + index)
+                            .link("/study/retention")
+                            .message("메시지 " + index)
+                            .account(account)
+                            .createdDateTime(createdDateTime)
+                            .notificationType(NotificationType.STUDY_CREATED)
+                        .build();
+    }
+
+    private List<Long> notificationIds()
+    {
+        return jdbcTemplate.queryForList("select id from notification where account_id = ? order by id", Long.class, account.getId());
+    }
+}
@@ -0,0 +1,65 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.infra.MockMvcTest;
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountRepository;
+import com.studyolle.modules.account.WithAccount;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@MockMvcTest
+class NotificationStreamTest extends AbstractContainerBaseTest
+{
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private NotificationStreamBroker notificationStreamBroker;
+
+    @Test
+    @WithAccount("1hoon")
+    @DisplayName("실시간 알림 구독 - 사용자별 최대 연결 수를 넘으면 가장 먼저 연결된 구독을 닫는다")
+    void stream_connection_limit() throws Exception
+    {
+        Account account = accountRepository.findByNickname("1hoon");
+
+        List<MvcResult> results = new ArrayList<>();
+        for (int i = 0; i < NotificationStreamBroker.MAX_CONNECTIONS_PER_ACCOUNT; i++)
+        {
+            results.add(subscribe());
+        }
+        assertEquals(NotificationStreamBroker.MAX_CONNECTIONS_PER_ACCOUNT, notificationStreamBroker.connectionCount(account.getId()));
+
+        MvcResult newest = subscribe();
+
+        assertEquals(NotificationStreamBroker.MAX_CONNECTIONS_PER_ACCOUNT, notificationStreamBroker.connectionCount(account.getId()));
+        // 가장 먼저 연결된 구독만 완료되고 나머지는 열린 채로 남는다.
+        assertNull(results.get(0).getAsyncResult(1000));
+        results.subList(1, results.size()).forEach(result -> assertThrows(IllegalStateException.class, () -> result.getAsyncResult(0)));
+        assertThrows(IllegalStateException.class, () -> newest.getAsyncResult(0));
+    }
+
+    private MvcResult subscribe() throws Exception
+    {
+        return mockMvc.perform(get("/notifications/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                        .andExpect(status().isOk())
+                        .andExpect(request().asyncStarted())
+                    .andReturn();
+    }
+}
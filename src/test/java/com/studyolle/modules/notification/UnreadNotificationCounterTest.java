@@ -0,0 +1,124 @@
+package com.studyolle.modules.notification;
+
+import com.studyolle.modules.account.Account;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.*;
+
+class UnreadNotificationCounterTest
+{
+    private final AtomicInteger unreadInDb = new AtomicInteger();
+
+    private NotificationRepository notificationRepository;
+
+    private UnreadNotificationCounter counter;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp()
+    {
+        notificationRepository = mock(NotificationRepository.class);
+        given(notificationRepository.countByAccountAndChecked(any(Account.class), eq(false))).willAnswer(invocation -> unreadInDb.get());
+        counter = new UnreadNotificationCounter(notificationRepository);
+
+        account = new Account();
+        account.setId(1L);
+    }
+
+    @Test
+    @DisplayName("알림 저장/읽음 처리가 없으면 처음 한 번만 DB 에서 센다")
+    void get_without_writes_counts_once()
+    {
+        unreadInDb.set(3);
+
+        for (int i = 0; i < 100; i++)
+        {
+            assertEquals(3, counter.get(account));
+        }
+        counter.evictIdle();
+
+        assertEquals(3, counter.peek(account.getId()));
+        verify(notificationRepository, times(1)).countByAccountAndChecked(account, false);
+    }
+
+    @Test
+    @DisplayName("알림이 저장되거나 읽음 처리되면 카운터를 제거하고 다음 조회 때 다시 센다")
+    void evict_on_write()
+    {
+        unreadInDb.set(1);
+        assertEquals(1, counter.get(account));
+
+        unreadInDb.incrementAndGet();
+        counter.evict(account.getId());
+        assertNull(counter.peek(account.getId()));
+        assertEquals(2, counter.get(account));
+
+        verify(notificationRepository, times(2)).countByAccountAndChecked(account, false);
+    }
+
+    @Test
+    @DisplayName("DB 에서 세는 도중 알림이 저장되면 센 값을 보관하지 않는다")
+    void write_during_load_is_not_overwritten() throws Exception
+    {
+        CountDownLatch counting = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            int count = unreadInDb.get();
+            counting.countDown();
+            committed.await(5, TimeUnit.SECONDS);
+            return count;
+        }).given(notificationRepository).countByAccountAndChecked(account, false);
+
+        CompletableFuture<Integer> load = CompletableFuture.supplyAsync(() -> counter.get(account));
+        assertTrue(counting.await(5, TimeUnit.SECONDS));
+
+        // 세기 시작한 뒤에 커밋된 알림
+        unreadInDb.incrementAndGet();
+        counter.evict(account.getId());
+        committed.countDown();
+
+        assertEquals(0, load.get(5, TimeUnit.SECONDS));
+        assertNull(counter.peek(account.getId()));
+
+        willAnswer(invocation -> unreadInDb.get()).given(notificationRepository).countByAccountAndChecked(account, false);
+        assertEquals(1, counter.get(account));
+    }
+
+    @Test
+    @DisplayName("조회와 알림 저장이 동시에 일어나도 마지막에는 DB 와 같은 값을 보관한다")
+    void concurrent_writes_and_reads() throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++)
+        {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                unreadInDb.incrementAndGet();
+                counter.evict(account.getId());
+            }, executor));
+            tasks.add(CompletableFuture.runAsync(() -> counter.get(account), executor));
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(200, counter.get(account));
+        assertEquals(200, counter.peek(account.getId()));
+    }
+}
@@ -0,0 +1,283 @@
+package com.studyolle.modules.study;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.infra.MockMvcTest;
+import com.studyolle.modules.study.search.StudyCursor;
+import com.studyolle.modules.study.search.StudyCursorPage;
+import com.studyolle.modules.study.search.StudySearchFacets;
+import com.studyolle.modules.study.search.StudySearchFilter;
+import com.studyolle.modules.study.search.StudySearchProperties;
+import com.studyolle.modules.tag.Tag;
+import com.studyolle.modules.tag.TagRepository;
+import com.studyolle.modules.zone.Zone;
+import com.studyolle.modules.zone.ZoneRepository;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 검색 쿼리를 DB 에서 확인하므로 검색 모드를 jpql 로 바꿔 실행한다.
+ */
+@MockMvcTest
+class StudyRepositoryTest extends AbstractContainerBaseTest
+{
+    @Autowired
+    private StudyRepository studyRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private StudySearchProperties studySearchProperties;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private StudySearchProperties.Mode mode;
+
+    @BeforeEach
+    void setUp()
+    {
+        mode = studySearchProperties.getMode();
+        studySearchProperties.setMode(StudySearchProperties.Mode.JPQL);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        studySearchProperties.setMode(mode);
+    }
+
+    @Test
+    @DisplayName("JPQL 검색 - 태그, 지역 필터로 검색 결과와 패싯을 좁힌다")
+    void findByKeyword_with_filter()
+    {
+        Tag spring = tagRepository.save(Tag.builder().title("repo-spring").build());
+        Tag jpa = tagRepository.save(Tag.builder().title("repo-jpa").build());
+        List<Zone> zones = zoneRepository.findAll();
+        Zone first = zones.get(0);
+        Zone second = zones.get(1);
+        LocalDateTime now = LocalDateTime.now();
+        Study one = study("filter-1", "필터검색 하나", now.minusDays(2), Set.of(spring), Set.of(first));
+        Study two = study("filter-2", "필터검색 둘", now.minusDays(1), Set.of(spring, jpa), Set.of(second));
+        Study three = study("filter-3", "필터검색 셋", now, Set.of(jpa), Set.of(first));
+        Pageable pageable = PageRequest.of(0, 9, Sort.Direction.DESC, "publishedDateTime");
+
+        assertEquals(List.of(three.getId(), two.getId(), one.getId()), ids(studyRepository.findByKeyword("필터검색", pageable)));
+
+        Page<Study> byTag = studyRepository.findByKeyword("필터검색", StudySearchFilter.of("repo-jpa", null), pageable);
+        assertEquals(List.of(three.getId(), two.getId()), ids(byTag));
+        assertEquals(2, byTag.getTotalElements());
+
+        Page<Study> byTagAndZone = studyRepository.findByKeyword("필터검색", StudySearchFilter.of("repo-jpa", first.getLocalNameOfCity()), pageable);
+        assertEquals(List.of(three.getId()), ids(byTagAndZone));
+
+        StudySearchFacets facets = studyRepository.findFacetsByKeyword("필터검색", StudySearchFilter.of("repo-spring", null), 10);
+        assertEquals(Map.of("repo-spring", 2, "repo-jpa", 1), counts(facets.getTags()));
+        assertEquals(Map.of(first.getLocalNameOfCity(), 1, second.getLocalNameOfCity(), 1), counts(facets.getZones()));
+        assertEquals(0, facets.getRecruiting());
+        assertEquals(2, facets.getNotRecruiting());
+    }
+
+    @Test
+    @DisplayName("커서 검색 - 정렬 키가 같아도 아이디로 이어서 빠짐없이, 중복 없이 모든 페이지를 넘긴다")
+    void findByKeywordWithCursor_walks_all_pages()
+    {
+        // DB 에 저장되는 정밀도와 같도록 초 단위로 맞춘다.
+        LocalDateTime published = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++)
+        {
+            expected.add(study("cursor-" + i, "커서검색 " + i, published, Set.of(), Set.of()).getId());
+        }
+        expected.sort(Comparator.reverseOrder());
+
+        for (String sortProperty : List.of(StudyCursor.PUBLISHED_DATE_TIME, StudyCursor.MEMBER_COUNT))
+        {
+            List<StudyCursorPage> pages = new ArrayList<>();
+            StudyCursorPage page = studyRepository.findByKeywordWithCursor("커서검색", StudySearchFilter.none(), sortProperty, null, 3);
+            pages.add(page);
+            while (page.hasNext())
+            {
+                page = studyRepository.findByKeywordWithCursor("커서검색", StudySearchFilter.none(), sortProperty, StudyCursor.decode(page.getNextCursor()), 3);
+                pages.add(page);
+            }
+
+            assertEquals(List.of(3, 3, 1), pages.stream().map(each -> each.getContent().size()).collect(Collectors.toList()), sortProperty);
+            assertEquals(expected, pages.stream().flatMap(each -> ids(each).stream()).collect(Collectors.toList()), sortProperty);
+            assertFalse(pages.get(0).hasPrevious(), sortProperty);
+            assertNull(page.getNextCursor(), sortProperty);
+
+            // 마지막 페이지에서 이전 커서로 되돌아가면 같은 페이지들을 거꾸로 지난다.
+            StudyCursorPage previous = studyRepository.findByKeywordWithCursor("커서검색", StudySearchFilter.none(), sortProperty, StudyCursor.decode(page.getPrevCursor()), 3);
+            assertEquals(ids(pages.get(1)), ids(previous), sortProperty);
+            previous = studyRepository.findByKeywordWithCursor("커서검색", StudySearchFilter.none(), sortProperty, StudyCursor.decode(previous.getPrevCursor()), 3);
+            assertEquals(ids(pages.get(0)), ids(previous), sortProperty);
+            assertFalse(previous.hasPrevious(), sortProperty);
+        }
+    }
+
+    @Test
+    @DisplayName("커서 검색 - 잘못되었거나 변조된 커서는 첫 페이지로 대신한다")
+    void findByKeywordWithCursor_invalid_cursor_falls_back_to_first_page()
+    {
+        LocalDateTime published = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 4; i++)
+        {
+            study("tampered-" + i, "변조커서 " + i, published.minusMinutes(i), Set.of(), Set.of());
+        }
+        StudyCursorPage first = studyRepository.findByKeywordWithCursor("변조커서", StudySearchFilter.none(), StudyCursor.PUBLISHED_DATE_TIME, null, 2);
+
+        List<String> invalid = List.of("not-a-cursor",
+                                        encode("NEXT|publishedDateTime|yesterday|1"),
+                                        encode("NEXT|title|스프링|1"),
+                                        encode("SIDEWAYS|publishedDateTime|" + published + "|1"),
+                                        encode("NEXT|publishedDateTime|" + published));
+        for (String cursor : invalid)
+        {
+            assertNull(StudyCursor.decode(cursor), cursor);
+            StudyCursorPage page = studyRepository.findByKeywordWithCursor("변조커서", StudySearchFilter.none(), StudyCursor.PUBLISHED_DATE_TIME, StudyCursor.decode(cursor), 2);
+            assertEquals(ids(first), ids(page), cursor);
+            assertFalse(page.hasPrevious(), cursor);
+        }
+
+        // 다른 정렬 기준으로 만든 커서도 첫 페이지로 대신한다.
+        StudyCursor memberCountCursor = StudyCursor.decode(encode("NEXT|memberCount|0|" + Long.MAX_VALUE));
+        StudyCursorPage page = studyRepository.findByKeywordWithCursor("변조커서", StudySearchFilter.none(), StudyCursor.PUBLISHED_DATE_TIME, memberCountCursor, 2);
+        assertEquals(ids(first), ids(page));
+        assertFalse(page.hasPrevious());
+    }
+
+    @Test
+    @DisplayName("JPQL 검색 - 아이디 페이지 조회 후 태그/지역을 한 번에 조회해도 단일 fetch join 쿼리와 결과가 같다")
+    void findByKeyword_two_phase_matches_single_query()
+    {
+        Tag tagOnly = tagRepository.save(Tag.builder().title("이단계검색-tag").build());
+        Tag other = tagRepository.save(Tag.builder().title("two-phase-other").build());
+        Zone zone = zoneRepository.findAll().get(0);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 6; i++)
+        {
+            study("two-phase-" + i, "이단계검색 " + i, now.minusHours(i), Set.of(other), Set.of(zone));
+        }
+        study("two-phase-tag", "태그로만 매칭", now.minusHours(6), Set.of(tagOnly, other), Set.of(zone));
+        study("two-phase-private", "이단계검색 비공개", now, Set.of(other), Set.of(zone)).setPublished(false);
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try
+        {
+            for (int page = 0; page < 3; page++)
+            {
+                PageRequest pageable = PageRequest.of(page, 3, Sort.Direction.DESC, "publishedDateTime");
+                List<Study> expected = findWithSingleQuery("이단계검색", pageable);
+                entityManager.flush();
+                entityManager.clear();
+
+                statistics.clear();
+                Page<Study> result = studyRepository.findByKeyword("이단계검색", pageable);
+                long statements = statistics.getPrepareStatementCount();
+
+                assertEquals(expected.stream().map(Study::getId).collect(Collectors.toList()), ids(result), "page " + page);
+                assertEquals(7, result.getTotalElements(), "page " + page);
+                // 아이디 페이지, 전체 건수(마지막 페이지면 생략), 태그/지역 조회
+                assertTrue(statements <= 3, "page " + page + " : " + statements);
+
+                for (int idx = 0; idx < expected.size(); idx++)
+                {
+                    Study study = result.getContent().get(idx);
+                    assertTrue(Hibernate.isInitialized(study.getTags()));
+                    assertTrue(Hibernate.isInitialized(study.getZones()));
+                    assertEquals(expected.get(idx).getTags(), study.getTags());
+                    assertEquals(expected.get(idx).getZones(), study.getZones());
+                }
+                assertEquals(statements, statistics.getPrepareStatementCount(), "태그/지역 접근 시 추가 쿼리 (N+1)");
+            }
+        }
+        finally
+        {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    /**
+     * 두 단계 검색 이전의 방식. 컬렉션을 fetch join 한 단일 쿼리로 전체를 조회한 뒤 메모리에서 페이징한다.
+     * @param keyword
+     * @param pageable
+     * @return
+     */
+    private List<Study> findWithSingleQuery(String keyword, Pageable pageable)
+    {
+        List<Study> all = entityManager.createQuery("select distinct s from Study s "
+                                                        + "left join fetch s.tags left join fetch s.zones "
+                                                        + "where s.published = true and (lower(s.title) like :keyword "
+                                                        + "or exists (select t from s.tags t where lower(t.title) like :keyword) "
+                                                        + "or exists (select z from s.zones z where lower(z.localNameOfCity) like :keyword)) "
+                                                        + "order by s.publishedDateTime desc", Study.class)
+                                        .setParameter("keyword", "%" + keyword.toLowerCase() + "%")
+                                        .getResultList();
+
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        return all.subList(from, Math.min(from + pageable.getPageSize(), all.size()));
+    }
+
+    private Study study(String path, String title, LocalDateTime publishedDateTime, Set<Tag> tags, Set<Zone> zones)
+    {
+        Study study = new Study();
+        study.setPath(path);
+        study.setTitle(title);
+        study.setShortDescription(title);
+        study.getTags().addAll(tags);
+        study.getZones().addAll(zones);
+        study.setPublished(true);
+        study.setPublishedDateTime(publishedDateTime);
+        return studyRepository.save(study);
+    }
+
+    private List<Long> ids(Page<Study> page)
+    {
+        return page.getContent().stream().map(Study::getId).collect(Collectors.toList());
+    }
+
+    private List<Long> ids(StudyCursorPage page)
+    {
+        return page.getContent().stream().map(Study::getId).collect(Collectors.toList());
+    }
+
+    private String encode(String raw)
+    {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Map<String, Integer> counts(List<StudySearchFacets.FacetCount> facets)
+    {
+        return facets.stream().collect(Collectors.toMap(StudySearchFacets.FacetCount::getName, StudySearchFacets.FacetCount::getCount));
+    }
+}
@@ -0,0 +1,164 @@
+package com.studyolle.modules.study.event;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.infra.mail.MailDigestPeriod;
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountFactory;
+import com.studyolle.modules.account.AccountRepository;
+import com.studyolle.modules.notification.Notification;
+import com.studyolle.modules.notification.NotificationStreamBroker;
+import com.studyolle.modules.study.Study;
+import com.studyolle.modules.study.StudyRepository;
+import com.studyolle.modules.study.StudyService;
+import com.studyolle.modules.tag.Tag;
+import com.studyolle.modules.tag.TagRepository;
+import com.studyolle.modules.zone.Zone;
+import com.studyolle.modules.zone.ZoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+
+/**
+ * 스터디 개설 알림이 수신자 묶음마다 커밋되는지 확인하므로 테스트 트랜잭션 없이 실행하고 직접 데이터를 지운다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StudyEventListenerTest extends AbstractContainerBaseTest
+{
+    private static final int RECIPIENTS = 501;
+
+    @Autowired
+    private StudyEventListener studyEventListener;
+
+    @Autowired
+    private StudyService studyService;
+
+    @Autowired
+    private StudyRepository studyRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountFactory accountFactory;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private NotificationStreamBroker notificationStreamBroker;
+
+    private final List<Account> recipients = new ArrayList<>();
+    private Account manager;
+    private Tag tag;
+    private Study study;
+
+    @BeforeEach
+    void setUp()
+    {
+        tag = tagRepository.save(Tag.builder().title("listener-chunk").build());
+        Zone zone = zoneRepository.findAll().get(0);
+
+        for (int i = 0; i < RECIPIENTS; i++)
+        {
+            recipients.add(Account.builder()
+                                    .nickname("listener" + i)
+                                    .email("listener" + i + "@gmail.com")
+                                    .studyCreatedByEmail(true)
+                                    .studyCreatedByWeb(true)
+                                    .emailDigest(MailDigestPeriod.NONE)
+                                    .tags(Set.of(tag))
+                                    .zones(Set.of(zone))
+                                .build());
+        }
+        accountRepository.saveAll(recipients);
+
+        manager = accountFactory.createAccount("listener-manager");
+        Study newStudy = new Study();
+        newStudy.setPath("listener-chunk");
+        newStudy.setTitle("listener-chunk");
+        newStudy.setShortDescription("묶음 커밋");
+        newStudy.getTags().add(tag);
+        newStudy.getZones().add(zone);
+        study = studyService.createNewStudy(manager, newStudy);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        recipients.forEach(account -> jdbcTemplate.update("delete from notification where account_id = ?", account.getId()));
+        jdbcTemplate.update("delete from mail_outbox_message where recipient like 'listener%@gmail.com'");
+        studyRepository.deleteById(study.getId());
+        accountRepository.deleteAll(recipients);
+        accountRepository.deleteById(manager.getId());
+        tagRepository.deleteById(tag.getId());
+    }
+
+    @Test
+    @DisplayName("스터디 개설 알림 - 알림과 메일을 수신자 묶음마다 커밋한다")
+    void handleStudyCreatedEvent_commits_each_chunk() throws Exception
+    {
+        Long last = recipients.get(RECIPIENTS - 1).getId();
+        AtomicLong notificationsBeforeLastChunk = new AtomicLong(-1);
+        AtomicLong mailsBeforeLastChunk = new AtomicLong(-1);
+        CountDownLatch lastChunk = new CountDownLatch(1);
+
+        // 마지막 묶음을 저장하는 트랜잭션 안에서, 다른 커넥션으로 커밋된 행 수를 센다.
+        willAnswer(invocation -> {
+            notificationsBeforeLastChunk.set(CompletableFuture.supplyAsync(this::committedNotifications).join());
+            mailsBeforeLastChunk.set(CompletableFuture.supplyAsync(this::committedMails).join());
+            lastChunk.countDown();
+            return null;
+        }).given(notificationStreamBroker).publish(eq(last), any(Notification.class));
+
+        studyEventListener.handleStudyCreatedEvent(new StudyCreatedEvent(study));
+
+        assertTrue(lastChunk.await(30, TimeUnit.SECONDS));
+        assertEquals(RECIPIENTS - 1, notificationsBeforeLastChunk.get());
+        assertEquals(RECIPIENTS - 1, mailsBeforeLastChunk.get());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (committedMails() < RECIPIENTS && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(50);
+        }
+        assertEquals(RECIPIENTS, committedMails());
+        assertEquals(RECIPIENTS, committedNotifications());
+    }
+
+    private long committedNotifications()
+    {
+        return jdbcTemplate.queryForObject("select count(*) from notification n join account a on a.id = n.account_id "
+                                            + "where a.nickname like 'listener%' and a.nickname <> 'listener-manager'", Long.class);
+    }
+
+    private long committedMails()
+    {
+        return jdbcTemplate.queryForObject("select count(*) from mail_outbox_message where recipient like 'listener%@gmail.com'", Long.class);
+    }
+}
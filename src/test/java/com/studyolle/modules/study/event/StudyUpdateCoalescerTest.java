@@ -0,0 +1,88 @@
+package com.studyolle.modules.study.event;
+
+import com.studyolle.modules.study.Study;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudyUpdateCoalescerTest
+{
+    private final List<Object> published = new ArrayList<>();
+
+    private final StudyUpdateNotificationProperties properties = new StudyUpdateNotificationProperties();
+
+    private ThreadPoolTaskScheduler scheduler;
+    private StudyUpdateCoalescer coalescer;
+
+    @BeforeEach
+    void createCoalescer()
+    {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+
+        // 예약된 발행은 테스트 중에 실행되지 않도록 충분히 길게 잡고 flush 를 직접 호출한다.
+        properties.setUpdateNotificationWindow(Duration.ofHours(1));
+        coalescer = new StudyUpdateCoalescer(published::add, scheduler, properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void shutdown()
+    {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 스터디의 수정 이벤트를 하나로 합쳐서 발행")
+    void coalesce()
+    {
+        Study spring = study(1L);
+        Study jpa = study(2L);
+
+        coalescer.handleStudyUpdateEvent(new StudyUpdateEvent(spring, "스터디 소개를 수정했습니다."));
+        coalescer.handleStudyUpdateEvent(new StudyUpdateEvent(spring, "팀원 모집을 시작했습니다."));
+        coalescer.handleStudyUpdateEvent(new StudyUpdateEvent(jpa, "스터디를 종료했습니다."));
+        coalescer.handleStudyUpdateEvent(new StudyUpdateEvent(spring, "스터디 소개를 수정했습니다."));
+        assertTrue(published.isEmpty());
+
+        coalescer.flush(1L);
+        coalescer.flush(1L);
+
+        assertEquals(1, published.size());
+        CoalescedStudyUpdateEvent event = (CoalescedStudyUpdateEvent) published.get(0);
+        assertEquals(1L, event.getStudyId());
+        assertEquals(List.of("스터디 소개를 수정했습니다.", "팀원 모집을 시작했습니다."), event.getMessages());
+        assertEquals("스터디 소개를 수정했습니다. 팀원 모집을 시작했습니다.", event.getMessage());
+
+        coalescer.flushAll();
+        assertEquals(2, published.size());
+        assertEquals(2L, ((CoalescedStudyUpdateEvent) published.get(1)).getStudyId());
+    }
+
+    @Test
+    @DisplayName("시간이 0 이면 모으지 않고 바로 발행")
+    void no_window()
+    {
+        properties.setUpdateNotificationWindow(Duration.ZERO);
+
+        coalescer.handleStudyUpdateEvent(new StudyUpdateEvent(study(1L), "팀원 모집을 종료했습니다."));
+
+        assertEquals(1, published.size());
+    }
+
+    private Study study(Long id)
+    {
+        Study study = new Study();
+        study.setId(id);
+        study.setPath("study-" + id);
+        return study;
+    }
+}
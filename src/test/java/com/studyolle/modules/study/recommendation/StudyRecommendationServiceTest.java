@@ -0,0 +1,125 @@
+package com.studyolle.modules.study.recommendation;
+
+import com.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.infra.MockMvcTest;
+import com.studyolle.modules.account.Account;
+import com.studyolle.modules.account.AccountFactory;
+import com.studyolle.modules.study.Study;
+import com.studyolle.modules.study.StudyFactory;
+import com.studyolle.modules.tag.Tag;
+import com.studyolle.modules.tag.TagRepository;
+import com.studyolle.modules.zone.Zone;
+import com.studyolle.modules.zone.ZoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.EntityManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MockMvcTest
+class StudyRecommendationServiceTest extends AbstractContainerBaseTest
+{
+    @Autowired
+    private StudyRecommendationService studyRecommendationService;
+
+    @Autowired
+    private StudyRecommendationRepository studyRecommendationRepository;
+
+    @Autowired
+    private AccountFactory accountFactory;
+
+    @Autowired
+    private StudyFactory studyFactory;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Account account;
+    private Tag tag;
+    private Zone zone;
+
+    @BeforeEach
+    void createAccount()
+    {
+        tag = tagRepository.save(Tag.builder().title("recommendation").build());
+        zone = zoneRepository.findAll().get(0);
+
+        account = accountFactory.createAccount("recommender");
+        account.setTags(new HashSet<>(Set.of(tag)));
+        account.setZones(new HashSet<>(Set.of(zone)));
+    }
+
+    @Test
+    @DisplayName("추가로 가득 찬 추천 목록에 더 오래된 스터디가 변경되면 재계산")
+    void recompute_after_prepend_filled_list()
+    {
+        LocalDateTime now = LocalDateTime.now();
+        Study oldest = createPublishedStudy("old-1", now.minusDays(10));
+        createPublishedStudy("old-2", now.minusDays(9));
+        studyRecommendationService.refresh(account.getId());
+
+        List<Long> prepended = new ArrayList<>();
+        for (int i = 1; i <= 7; i++)
+        {
+            Study study = createPublishedStudy("new-" + i, now.plusMinutes(i));
+            studyRecommendationService.applyStudyChange(study.getId());
+            prepended.add(0, study.getId());
+        }
+
+        StudyRecommendation recommendation = studyRecommendationRepository.findById(account.getId()).orElseThrow();
+        assertTrue(recommendation.isFull());
+        assertNull(recommendation.getOldestPublishedDateTime());
+        assertEquals(prepended, recommendation.getStudyIdList().subList(0, 7));
+
+        Study older = createPublishedStudy("older", now.minusDays(20));
+        studyRecommendationService.applyStudyChange(older.getId());
+
+        recommendation = studyRecommendationRepository.findById(account.getId()).orElseThrow();
+        assertEquals(StudyRecommendation.SIZE, recommendation.getStudyIdList().size());
+        assertFalse(recommendation.contains(older.getId()));
+        assertEquals(oldest.getPublishedDateTime(), recommendation.getOldestPublishedDateTime());
+    }
+
+    @Test
+    @DisplayName("추천 대상이 아니게 된 스터디는 포함하고 있는 목록에서 제거")
+    void remove_closed_study()
+    {
+        Study study = createPublishedStudy("closing", LocalDateTime.now().minusDays(1));
+        studyRecommendationService.refresh(account.getId());
+        entityManager.flush();
+        assertTrue(studyRecommendationRepository.findAccountIdsContaining(study.getId()).contains(account.getId()));
+
+        study.close();
+        studyRecommendationService.applyStudyChange(study.getId());
+        entityManager.flush();
+
+        assertTrue(studyRecommendationRepository.findAccountIdsContaining(study.getId()).isEmpty());
+        assertTrue(studyRecommendationRepository.findById(account.getId()).orElseThrow().getStudyIdList().isEmpty());
+    }
+
+    private Study createPublishedStudy(String path, LocalDateTime publishedDateTime)
+    {
+        Study study = studyFactory.createStudy(path, account);
+        study.setTitle(path);
+        study.getTags().add(tag);
+        study.getZones().add(zone);
+        study.publish();
+        study.setPublishedDateTime(publishedDateTime);
+        return study;
+    }
+}
@@ -0,0 +1,40 @@
+package com.studyolle.modules.study.recommendation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudyRecommendationTest
+{
+    @Test
+    @DisplayName("추천 목록 교체와 포함 여부")
+    void replace_and_contains()
+    {
+        StudyRecommendation recommendation = new StudyRecommendation(1L);
+        assertTrue(recommendation.getStudyIdList().isEmpty());
+
+        recommendation.replace(List.of(12L, 2L), LocalDateTime.now());
+        assertEquals(List.of(12L, 2L), recommendation.getStudyIdList());
+        assertTrue(recommendation.contains(2L));
+        assertFalse(recommendation.contains(1L));
+        assertFalse(recommendation.isFull());
+        assertNull(recommendation.getOldestPublishedDateTime());
+    }
+
+    @Test
+    @DisplayName("맨 앞에 추가하고 최대 개수를 넘으면 마지막 스터디 제거")
+    void prepend()
+    {
+        StudyRecommendation recommendation = new StudyRecommendation(1L);
+        recommendation.replace(List.of(9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L), LocalDateTime.now().minusDays(1));
+        assertTrue(recommendation.isFull());
+
+        recommendation.prepend(10L);
+        assertEquals(List.of(10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L), recommendation.getStudyIdList());
+        assertFalse(recommendation.contains(1L));
+    }
+}
@@ -0,0 +1,82 @@
+package com.studyolle.modules.study.search;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>스터디 검색 색인 벤치마크</h1>
+ *
+ * 합성 스터디 10만 건을 대상으로 메모리 색인 내부(n-gram 후보 조회, 정렬까지 포함한 색인 검색) 비용만 측정한다.
+ * DB 를 거치지 않으므로 기존 QueryDSL 경로와 비교하는 기준값이 아니며, 그 비교는 {@link StudySearchQueryBenchmark} 에서 한다.<br>
+ * 실행 : mvn test-compile 후 main 메서드 실행
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudySearchBenchmark
+{
+    private static final String[] WORDS = {"스프링", "부트", "자바", "JPA", "알고리즘", "코딩", "테스트", "리액트", "파이썬", "데이터",
+                                            "머신러닝", "클라우드", "쿠버네티스", "입문", "심화", "스터디", "모임", "프로젝트", "면접", "토익"};
+    private static final String[] TAGS = {"Spring", "JPA", "Java", "Kotlin", "React", "Python", "Algorithm", "AWS", "Docker", "English"};
+    private static final String[] ZONES = {"서울특별시", "부산광역시", "안산시", "안양시", "수원시", "성남시", "대전광역시", "광주광역시", "제주시", "춘천시"};
+
+    @Param({"스프링", "서울", "jpa", "알고리즘 스터디"})
+    private String keyword;
+
+    private List<StudyDocument> documents;
+    private NGramIndex nGramIndex;
+    private StudySearchIndex studySearchIndex;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(2020);
+        documents = new ArrayList<>(100_000);
+        nGramIndex = new NGramIndex();
+        for (long id = 1; id <= 100_000; id++)
+        {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+            List<String> tags = List.of(TAGS[random.nextInt(TAGS.length)], TAGS[random.nextInt(TAGS.length)]);
+            List<String> zones = List.of(ZONES[random.nextInt(ZONES.length)]);
+            StudyDocument document = new StudyDocument(id, title, "", tags, zones, LocalDateTime.now().minusMinutes(id), random.nextInt(50), random.nextBoolean());
+            documents.add(document);
+
+            List<String> fields = new ArrayList<>(tags);
+            fields.add(title);
+            fields.addAll(zones);
+            nGramIndex.put(id, fields);
+        }
+
+        studySearchIndex = new StudySearchIndex();
+        studySearchIndex.rebuild(documents);
+    }
+
+    @Benchmark
+    public long[] nGramIndex()
+    {
+        return nGramIndex.search(keyword);
+    }
+
+    @Benchmark
+    public List<StudyDocument> studySearchIndex()
+    {
+        return studySearchIndex.search(keyword, Sort.by(Sort.Direction.DESC, "publishedDateTime"));
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(StudySearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
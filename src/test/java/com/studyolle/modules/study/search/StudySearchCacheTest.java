@@ -0,0 +1,105 @@
+package com.studyolle.modules.study.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudySearchCacheTest
+{
+    private final Pageable pageable = PageRequest.of(0, 9, Sort.Direction.DESC, "publishedDateTime");
+
+    private final AtomicLong now = new AtomicLong();
+
+    private MeterRegistry meterRegistry;
+    private StudySearchCache studySearchCache;
+
+    @BeforeEach
+    void createCache()
+    {
+        StudySearchProperties.Cache properties = new StudySearchProperties.Cache();
+        properties.setMaxSize(2);
+        properties.setTtl(Duration.ofMinutes(5));
+
+        meterRegistry = new SimpleMeterRegistry();
+        studySearchCache = new StudySearchCache(properties, meterRegistry, now::get);
+    }
+
+    @Test
+    @DisplayName("정규화한 검색어로 적중하고 적중/실패 수를 기록")
+    void get_and_put()
+    {
+        assertNull(studySearchCache.get("스프링", pageable));
+        studySearchCache.put("스프링", pageable, page(1L, 2L), studySearchCache.generation());
+
+        Page<Long> cached = studySearchCache.get("  스프링 ", pageable);
+        assertEquals(List.of(1L, 2L), cached.getContent());
+        assertEquals(2, cached.getTotalElements());
+        assertNull(studySearchCache.get("스프링", PageRequest.of(1, 9, Sort.Direction.DESC, "publishedDateTime")));
+
+        assertEquals(1, meterRegistry.get("study.search.cache.gets").tag("result", "hit").counter().count());
+        assertEquals(2, meterRegistry.get("study.search.cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("유효 시간과 최대 항목 수 초과 시 제거")
+    void expire_and_lru()
+    {
+        studySearchCache.put("스프링", pageable, page(1L), 0);
+        studySearchCache.put("jpa", pageable, page(2L), 0);
+        studySearchCache.get("스프링", pageable);
+        studySearchCache.put("서울", pageable, page(3L), 0);
+
+        assertNull(studySearchCache.get("jpa", pageable));
+        assertNotNull(studySearchCache.get("스프링", pageable));
+
+        now.addAndGet(Duration.ofMinutes(5).toNanos());
+        assertNull(studySearchCache.get("서울", pageable));
+    }
+
+    @Test
+    @DisplayName("변경된 스터디와 매칭되는 검색어만 무효화")
+    void evict_matching_keywords()
+    {
+        studySearchCache.put("스프링", pageable, page(1L), 0);
+        studySearchCache.put("서울", pageable, page(2L), 0);
+
+        StudyDocument changed = new StudyDocument(3L, "스프링 부트", "", List.of("Spring"), List.of("안산시"), LocalDateTime.now(), 1, true);
+        studySearchCache.evict(3L, List.of(changed));
+
+        assertNull(studySearchCache.get("스프링", pageable));
+        assertNotNull(studySearchCache.get("서울", pageable));
+
+        studySearchCache.evict(2L, List.of());
+        assertNull(studySearchCache.get("서울", pageable));
+    }
+
+    @Test
+    @DisplayName("조회 도중 무효화되면 결과를 저장하지 않음")
+    void skip_put_after_eviction()
+    {
+        long generation = studySearchCache.generation();
+        studySearchCache.evict(1L, List.of());
+        studySearchCache.put("스프링", pageable, page(1L), generation);
+
+        assertNull(studySearchCache.get("스프링", pageable));
+    }
+
+    private Page<Long> page(Long... ids)
+    {
+        return new PageImpl<>(List.of(ids), pageable, ids.length);
+    }
+}
@@ -0,0 +1,162 @@
+package com.studyolle.modules.study.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudySearchIndexTest
+{
+    private StudySearchIndex studySearchIndex;
+
+    @BeforeEach
+    void createIndex()
+    {
+        studySearchIndex = new StudySearchIndex();
+        studySearchIndex.rebuild(List.of(
+                document(1L, "스프링 부트 스터디", List.of("Spring"), List.of("서울"), 3, LocalDateTime.now().minusDays(2)),
+                document(2L, "JPA 입문", List.of("JPA", "Spring"), List.of("안산시"), 10, LocalDateTime.now().minusDays(1)),
+                document(3L, "알고리즘", List.of("Algorithm"), List.of("서울"), 5, LocalDateTime.now())
+        ));
+    }
+
+    @Test
+    @DisplayName("제목, 태그, 지역 토큰 검색")
+    void search_by_fields()
+    {
+        assertEquals(List.of(1L), ids(studySearchIndex.search("스프링", Sort.unsorted())));
+        assertEquals(List.of(2L, 1L), ids(studySearchIndex.search("spring", Sort.unsorted())));
+        assertEquals(List.of(3L, 1L), ids(studySearchIndex.search("서울", Sort.unsorted())));
+        assertTrue(studySearchIndex.search("없는검색어", Sort.unsorted()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("접두어 매칭과 여러 토큰 교집합")
+    void search_prefix_and_intersection()
+    {
+        assertEquals(List.of(2L), ids(studySearchIndex.search("안산", Sort.unsorted())));
+        assertEquals(List.of(1L), ids(studySearchIndex.search("spring 서울", Sort.unsorted())));
+    }
+
+    @Test
+    @DisplayName("n-gram 부분 문자열 검색")
+    void search_substring()
+    {
+        assertEquals(List.of(2L), ids(studySearchIndex.search("산시", Sort.unsorted())));
+        assertEquals(List.of(1L), ids(studySearchIndex.search("프링 부", Sort.unsorted())));
+        assertEquals(List.of(3L), ids(studySearchIndex.search("리즘", Sort.unsorted())));
+        assertTrue(studySearchIndex.search("부트 알", Sort.unsorted()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("멤버수 정렬")
+    void search_sorted_by_member_count()
+    {
+        List<StudyDocument> result = studySearchIndex.search("spring", Sort.by(Sort.Direction.DESC, "memberCount"));
+        assertEquals(List.of(2L, 1L), ids(result));
+    }
+
+    @Test
+    @DisplayName("연관도 정렬 - 이름 매칭이 태그 매칭보다 앞선다")
+    void search_by_relevance()
+    {
+        LocalDateTime published = LocalDateTime.now().minusDays(3);
+        StudySearchIndex index = new StudySearchIndex();
+        index.rebuild(List.of(
+                document(10L, "자바 입문", List.of("Spring"), List.of("부산"), 5, published),
+                document(11L, "Spring 입문", List.of("Java"), List.of("부산"), 5, published),
+                document(12L, "리액트", List.of("React"), List.of("부산"), 5, published)
+        ));
+
+        Page<StudyDocument> page = index.searchByRelevance("spring", PageRequest.of(0, 9));
+        assertEquals(List.of(11L, 10L), ids(page.getContent()));
+        assertEquals(2, page.getTotalElements());
+
+        Page<StudyDocument> second = index.searchByRelevance("spring", PageRequest.of(1, 1));
+        assertEquals(List.of(10L), ids(second.getContent()));
+    }
+
+    @Test
+    @DisplayName("패싯 집계")
+    void facets()
+    {
+        StudySearchFacets facets = studySearchIndex.facets("spring", 10);
+
+        assertEquals("Spring", facets.getTags().get(0).getName());
+        assertEquals(2, facets.getTags().get(0).getCount());
+        assertEquals(2, facets.getTags().size());
+        assertEquals(2, facets.getZones().size());
+        assertEquals(2, facets.getRecruiting());
+        assertEquals(0, facets.getNotRecruiting());
+    }
+
+    @Test
+    @DisplayName("태그, 지역 필터로 검색 결과와 패싯을 좁힌다")
+    void search_with_filter()
+    {
+        assertEquals(List.of(2L), ids(studySearchIndex.search("spring", StudySearchFilter.of(null, "안산시"), Sort.unsorted())));
+        assertEquals(List.of(3L), ids(studySearchIndex.search("서울", StudySearchFilter.of("Algorithm", ""), Sort.unsorted())));
+        assertTrue(studySearchIndex.search("서울", StudySearchFilter.of("JPA", null), Sort.unsorted()).isEmpty());
+
+        StudySearchFacets facets = studySearchIndex.facets("spring", StudySearchFilter.of("JPA", null), 10);
+        assertEquals(2, facets.getTags().size());
+        assertEquals(1, facets.getTags().get(0).getCount());
+        assertEquals(List.of("안산시"), facets.getZones().stream().map(StudySearchFacets.FacetCount::getName).collect(Collectors.toList()));
+        assertEquals(1, facets.getRecruiting());
+    }
+
+    @Test
+    @DisplayName("갱신과 제거")
+    void index_and_remove()
+    {
+        studySearchIndex.index(document(1L, "코틀린 스터디", List.of("Kotlin"), List.of("부산"), 3, LocalDateTime.now()));
+        assertTrue(studySearchIndex.search("스프링", Sort.unsorted()).isEmpty());
+        assertEquals(List.of(1L), ids(studySearchIndex.search("kotlin", Sort.unsorted())));
+
+        studySearchIndex.remove(1L);
+        assertTrue(studySearchIndex.search("kotlin", Sort.unsorted()).isEmpty());
+        assertEquals(2, studySearchIndex.size());
+    }
+
+    @Test
+    @DisplayName("n-gram 일괄 색인 후 갱신")
+    void ngram_put_all_then_put()
+    {
+        NGramIndex nGramIndex = new NGramIndex();
+        nGramIndex.putAll(Map.of(1L, List.of("스프링 부트"), 2L, List.of("스프링 배치"), 3L, List.of("알고리즘")));
+        nGramIndex.putAll(Map.of(3L, List.of("스프링 클라우드")));
+        nGramIndex.put(2L, List.of("리액트"));
+
+        assertEquals(Set.of(1L, 3L), toSet(nGramIndex.search("스프링")));
+        assertEquals(Set.of(2L), toSet(nGramIndex.search("액")));
+        assertEquals(0, nGramIndex.search("알고").length);
+        assertEquals(0, nGramIndex.search(" ").length);
+        assertEquals(3, nGramIndex.size());
+    }
+
+    private Set<Long> toSet(long[] ids)
+    {
+        return Arrays.stream(ids).boxed().collect(Collectors.toSet());
+    }
+
+    private StudyDocument document(Long id, String title, List<String> tags, List<String> zones, int memberCount, LocalDateTime published)
+    {
+        return new StudyDocument(id, title, "", tags, zones, published, memberCount, true);
+    }
+
+    private List<Long> ids(List<StudyDocument> documents)
+    {
+        return documents.stream().map(StudyDocument::getId).collect(Collectors.toList());
+    }
+}
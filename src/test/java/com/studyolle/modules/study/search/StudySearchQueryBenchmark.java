@@ -0,0 +1,144 @@
+package com.studyolle.modules.study.search;
+
+import com.studyolle.StudyolleApplication;
+import com.studyolle.modules.study.Study;
+import com.studyolle.modules.study.StudyRepository;
+import com.studyolle.modules.tag.Tag;
+import com.studyolle.modules.tag.TagRepository;
+import com.studyolle.modules.zone.Zone;
+import com.studyolle.modules.zone.ZoneRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>스터디 검색 쿼리 벤치마크</h1>
+ *
+ * 테스트 프로파일(Testcontainers PostgreSQL)로 애플리케이션을 띄우고 합성 스터디 {@value #STUDIES} 건을 저장한 뒤,
+ * {@link StudyRepository#findByKeyword} 의 첫 페이지 조회를 검색 모드별로 비교한다.<br>
+ * jpql  : 기존 QueryDSL 경로 (LIKE '%검색어%' 아이디 페이지 + count 쿼리 + 태그/지역 조회)<br>
+ * index : 메모리 역색인으로 아이디 페이지를 구하고 태그/지역만 DB 에서 조회<br>
+ * 검색 결과 캐시는 끄고 측정한다. 검색 모드와 검색어 조합마다 JVM 을 새로 띄워 데이터를 다시 저장한다.<br>
+ * 실행 : mvn test-compile 후 main 메서드 실행 (Docker 필요)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudySearchQueryBenchmark
+{
+    private static final int STUDIES = 100_000;
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String[] WORDS = {"스프링", "부트", "자바", "JPA", "알고리즘", "코딩", "테스트", "리액트", "파이썬", "데이터",
+                                            "머신러닝", "클라우드", "쿠버네티스", "입문", "심화", "스터디", "모임", "프로젝트", "면접", "토익"};
+    private static final String[] TAGS = {"Spring", "JPA", "Java", "Kotlin", "React", "Python", "Algorithm", "AWS", "Docker", "English"};
+
+    private static final String NEXT_IDS = "select nextval('hibernate_sequence') from generate_series(1, ?)";
+
+    private static final String INSERT_STUDY = "insert into study (id, path, title, short_description, published, published_date_time, "
+                                                + "recruiting, closed, use_banner, member_count) values (?, ?, ?, ?, true, ?, ?, false, false, ?)";
+
+    @Param({"JPQL", "INDEX"})
+    private StudySearchProperties.Mode mode;
+
+    @Param({"스프링", "서울", "jpa", "알고리즘 스터디"})
+    private String keyword;
+
+    private ConfigurableApplicationContext context;
+    private StudyRepository studyRepository;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() throws InterruptedException
+    {
+        context = new SpringApplicationBuilder(StudyolleApplication.class)
+                        .profiles("test")
+                        .properties("app.search.cache.enabled=false", "app.mail.outbox.enabled=false")
+                        .run();
+        studyRepository = context.getBean(StudyRepository.class);
+        pageable = PageRequest.of(0, 9, Sort.by(Sort.Direction.DESC, "publishedDateTime"));
+
+        seed();
+
+        StudySearchIndex studySearchIndex = context.getBean(StudySearchIndex.class);
+        context.getBean(StudySearchIndexer.class).buildIndex();
+        while (studySearchIndex.size() < STUDIES)
+        {
+            Thread.sleep(100);
+        }
+        context.getBean(StudySearchProperties.class).setMode(mode);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Study> findByKeyword()
+    {
+        return studyRepository.findByKeyword(keyword, pageable);
+    }
+
+    private void seed()
+    {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        TagRepository tagRepository = context.getBean(TagRepository.class);
+        List<Tag> tags = new ArrayList<>();
+        for (String title : TAGS)
+        {
+            Tag tag = tagRepository.findByTitle(title);
+            tags.add(tag != null ? tag : tagRepository.save(Tag.builder().title(title).build()));
+        }
+        List<Zone> zones = context.getBean(ZoneRepository.class).findAll();
+
+        Random random = new Random(2020);
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < STUDIES; from += BATCH_SIZE)
+        {
+            List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS, Long.class, BATCH_SIZE);
+            List<Object[]> studies = new ArrayList<>(BATCH_SIZE);
+            List<Object[]> studyTags = new ArrayList<>(BATCH_SIZE * 2);
+            List<Object[]> studyZones = new ArrayList<>(BATCH_SIZE);
+            for (Long id : ids)
+            {
+                String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+                studies.add(new Object[] {id, "bench-" + id, title, title, Timestamp.valueOf(now.minusMinutes(id)), random.nextBoolean(), random.nextInt(50)});
+
+                int first = random.nextInt(tags.size());
+                int second = (first + 1 + random.nextInt(tags.size() - 1)) % tags.size();
+                studyTags.add(new Object[] {id, tags.get(first).getId()});
+                studyTags.add(new Object[] {id, tags.get(second).getId()});
+                studyZones.add(new Object[] {id, zones.get(random.nextInt(zones.size())).getId()});
+            }
+            jdbcTemplate.batchUpdate(INSERT_STUDY, studies);
+            jdbcTemplate.batchUpdate("insert into study_tags (study_id, tags_id) values (?, ?)", studyTags);
+            jdbcTemplate.batchUpdate("insert into study_zones (study_id, zones_id) values (?, ?)", studyZones);
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(StudySearchQueryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,63 @@
+package com.studyolle.modules.study.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudyTitleTrieTest
+{
+    private StudyTitleTrie studyTitleTrie;
+
+    @BeforeEach
+    void createTrie()
+    {
+        studyTitleTrie = new StudyTitleTrie();
+        studyTitleTrie.rebuild(List.of(
+                suggestion(1L, "스프링 부트 스터디", 3),
+                suggestion(2L, "스프링 JPA", 10),
+                suggestion(3L, "자바 스프링 입문", 5),
+                suggestion(4L, "알고리즘", 1)
+        ));
+    }
+
+    @Test
+    @DisplayName("접두어 자동완성은 멤버 수 순으로 정렬")
+    void suggest_by_prefix()
+    {
+        assertEquals(List.of(2L, 3L, 1L), ids(studyTitleTrie.suggest("스프", 10)));
+        assertEquals(List.of(1L), ids(studyTitleTrie.suggest("스프링 부", 10)));
+        assertEquals(List.of(2L), ids(studyTitleTrie.suggest("스프링 jpa", 10)));
+        assertEquals(List.of(2L, 3L), ids(studyTitleTrie.suggest("스프링", 2)));
+        assertTrue(studyTitleTrie.suggest("스프링부트", 10).isEmpty());
+        assertTrue(studyTitleTrie.suggest(" ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("이름 변경과 삭제 반영")
+    void put_and_remove()
+    {
+        studyTitleTrie.put(suggestion(2L, "코틀린 JPA", 10));
+        assertEquals(List.of(3L, 1L), ids(studyTitleTrie.suggest("스프링", 10)));
+        assertEquals(List.of(2L), ids(studyTitleTrie.suggest("코", 10)));
+
+        studyTitleTrie.remove(3L);
+        assertEquals(List.of(1L), ids(studyTitleTrie.suggest("스", 10)));
+        assertTrue(studyTitleTrie.suggest("자바", 10).isEmpty());
+    }
+
+    private StudySuggestion suggestion(Long id, String title, int memberCount)
+    {
+        return new StudySuggestion(id, title, "path-" + id, memberCount, LocalDateTime.now().minusDays(id));
+    }
+
+    private List<Long> ids(List<StudySuggestion> suggestions)
+    {
+        return suggestions.stream().map(StudySuggestion::getId).collect(Collectors.toList());
+    }
+}